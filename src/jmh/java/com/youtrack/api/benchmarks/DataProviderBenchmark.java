@@ -0,0 +1,145 @@
+package com.youtrack.api.benchmarks;
+
+import com.opencsv.CSVWriter;
+import com.youtrack.api.utils.CSVDataProvider;
+import com.youtrack.api.utils.ConfigReader;
+import com.youtrack.api.utils.ExcelDataProvider;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time to load a whole CSV / XLSX data file of {@code rows} rows, eagerly
+ * ({@code readCSV}, {@code readExcel}) and streamed row by row
+ * ({@code streamCSV}, {@code streamExcel}).
+ *
+ * With {@code cache=false} the in-memory cache and on-disk snapshots of
+ * {@code TestDataCache} are switched off, so every call parses the file; with
+ * {@code cache=true} the numbers show what repeated data-provider calls cost.
+ * Run with {@code -prof gc} for the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataProviderBenchmark {
+
+    private static final String SHEET_NAME = "IssueData";
+
+    @Param({"100", "10000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    private Path directory;
+    private String csvFile;
+    private String excelFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        System.setProperty("test.data.cache.enabled", String.valueOf(cache));
+        System.setProperty("test.data.snapshot.enabled", String.valueOf(cache));
+
+        directory = Files.createTempDirectory("data-provider-benchmark");
+        System.setProperty("test.data.snapshot.dir", directory.resolve("snapshots").toString());
+        ConfigReader.reload();
+        csvFile = writeCsv(directory.resolve("issues.csv")).toString();
+        excelFile = writeExcel(directory.resolve("issues.xlsx")).toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Object[][] readCSV() {
+        return CSVDataProvider.readCSV(csvFile);
+    }
+
+    @Benchmark
+    public void streamCSV(Blackhole blackhole) {
+        consume(CSVDataProvider.streamCSV(csvFile), blackhole);
+    }
+
+    @Benchmark
+    public Object[][] readExcel() {
+        return ExcelDataProvider.readExcel(excelFile, SHEET_NAME);
+    }
+
+    @Benchmark
+    public void streamExcel(Blackhole blackhole) {
+        consume(ExcelDataProvider.streamExcel(excelFile, SHEET_NAME), blackhole);
+    }
+
+    private static void consume(Iterator<Object[]> iterator, Blackhole blackhole) {
+        while (iterator.hasNext()) {
+            blackhole.consume(iterator.next());
+        }
+    }
+
+    private Path writeCsv(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+             CSVWriter writer = new CSVWriter(out)) {
+            writer.writeNext(new String[] {"testId", "projectId", "summary", "description", "expectedStatus"});
+            for (int i = 1; i <= rows; i++) {
+                writer.writeNext(new String[] {
+                    String.format("DATA_%06d", i), "0-0",
+                    "Benchmark issue " + i, "Description for benchmark issue " + i, "200"});
+            }
+        }
+        return file;
+    }
+
+    private Path writeExcel(Path file) throws IOException {
+        String[] priorities = {"Critical", "Major", "Normal", "Minor"};
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+             OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet(SHEET_NAME);
+            writeRow(sheet.createRow(0), "TestID", "ProjectID", "Summary", "Description", "Priority");
+            for (int i = 1; i <= rows; i++) {
+                writeRow(sheet.createRow(i), String.format("EXCEL_%06d", i), "0-0",
+                    "Benchmark issue " + i, "Description for benchmark issue " + i,
+                    priorities[i % priorities.length]);
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+        return file;
+    }
+
+    private static void writeRow(Row row, String... values) {
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+}
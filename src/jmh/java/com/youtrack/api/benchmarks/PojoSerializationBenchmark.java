@@ -0,0 +1,130 @@
+package com.youtrack.api.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.youtrack.api.pojo.CustomField;
+import com.youtrack.api.pojo.EnumValue;
+import com.youtrack.api.pojo.Issue;
+import com.youtrack.api.pojo.Project;
+import com.youtrack.api.utils.JsonSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round trips of the request/response POJOs. {@code valueKind} selects
+ * what goes into the untyped {@link CustomField#getValue()}: a single enum value
+ * as a map ({@code {"name": ...}}) or as {@link EnumValue}, a list of them, a
+ * text map or a number, as YouTrack uses for enum, multi-enum, text and period
+ * fields. {@code mapper} compares a default {@code ObjectMapper} with the
+ * shared {@link JsonSupport} configuration.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PojoSerializationBenchmark {
+
+    @Param({"enum", "typedEnum", "multiEnum", "text", "number"})
+    public String valueKind;
+
+    @Param({"default", "shared"})
+    public String mapper;
+
+    private ObjectWriter issueWriter;
+    private ObjectReader issueReader;
+    private ObjectWriter projectWriter;
+    private ObjectReader projectReader;
+    private Issue issue;
+    private Project project;
+    private byte[] issueJson;
+    private byte[] projectJson;
+
+    @Setup
+    public void setup() throws IOException {
+        if ("shared".equals(mapper)) {
+            issueWriter = JsonSupport.writer(Issue.class);
+            issueReader = JsonSupport.reader(Issue.class);
+            projectWriter = JsonSupport.writer(Project.class);
+            projectReader = JsonSupport.reader(Project.class);
+        } else {
+            ObjectMapper defaultMapper = new ObjectMapper();
+            issueWriter = defaultMapper.writerFor(Issue.class);
+            issueReader = defaultMapper.readerFor(Issue.class);
+            projectWriter = defaultMapper.writerFor(Project.class);
+            projectReader = defaultMapper.readerFor(Project.class);
+        }
+
+        project = new Project("0-0", "Test Project", "TP");
+        issue = new Issue("Benchmark issue summary", "Benchmark issue description", project);
+        issue.setCustomFields(Arrays.asList(
+            new CustomField("Priority", "SingleEnumIssueCustomField", customFieldValue()),
+            new CustomField("Type", "SingleEnumIssueCustomField", enumValue("Bug"))));
+
+        issueJson = issueWriter.writeValueAsBytes(issue);
+        projectJson = projectWriter.writeValueAsBytes(project);
+    }
+
+    private Object customFieldValue() {
+        switch (valueKind) {
+            case "enum":
+                return enumValue("Major");
+            case "typedEnum":
+                return new EnumValue("Major");
+            case "multiEnum":
+                List<Map<String, String>> values = Arrays.asList(
+                    enumValue("Backend"), enumValue("API"), enumValue("Regression"));
+                return values;
+            case "text":
+                return Collections.singletonMap("text", "Free text custom field value");
+            case "number":
+                return 3600;
+            default:
+                throw new IllegalArgumentException("Unknown value kind: " + valueKind);
+        }
+    }
+
+    private static Map<String, String> enumValue(String name) {
+        Map<String, String> value = new HashMap<>();
+        value.put("name", name);
+        return value;
+    }
+
+    @Benchmark
+    public byte[] serializeIssue() throws IOException {
+        return issueWriter.writeValueAsBytes(issue);
+    }
+
+    @Benchmark
+    public Issue deserializeIssue() throws IOException {
+        return issueReader.readValue(issueJson);
+    }
+
+    @Benchmark
+    public byte[] serializeProject() throws IOException {
+        return projectWriter.writeValueAsBytes(project);
+    }
+
+    @Benchmark
+    public Project deserializeProject() throws IOException {
+        return projectReader.readValue(projectJson);
+    }
+}
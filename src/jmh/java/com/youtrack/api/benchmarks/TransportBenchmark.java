@@ -0,0 +1,98 @@
+package com.youtrack.api.benchmarks;
+
+import com.youtrack.api.utils.ConfigReader;
+import com.youtrack.api.utils.Http2TransportFilter;
+import com.youtrack.api.utils.HttpClientPool;
+import com.youtrack.api.utils.JsonSupport;
+import com.youtrack.api.utils.YouTrackStubServer;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * {@code GET /users/me} from 16 threads through the shared spec with
+ * {@code http.transport=apache} (pooled HTTP/1.1 connections) and
+ * {@code http.transport=http2} (JDK HttpClient). Runs against an in-process
+ * {@link YouTrackStubServer}, which speaks HTTP/1.1 only, so there both
+ * transports use HTTP/1.1; pass {@code -jvmArgs -Dbenchmark.base.url=https://...}
+ * (and {@code -Dauth.token=...}) to measure multiplexing against a real
+ * YouTrack over HTTPS.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class TransportBenchmark {
+
+    @Param({"apache", "http2"})
+    public String transport;
+
+    private YouTrackStubServer stub;
+    private RequestSpecification spec;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Read once by Http2Transport, which is not loaded yet in this fork
+        System.setProperty("http.transport", transport);
+        ConfigReader.reload();
+
+        String baseUrl = System.getProperty("benchmark.base.url");
+        if (baseUrl == null) {
+            stub = new YouTrackStubServer(ConfigReader.getApiBasePath(), ConfigReader.getAuthToken(),
+                ConfigReader.getTestProjectId(), ConfigReader.getProperty("test.project.name"));
+            stub.start(0);
+            baseUrl = stub.getBaseUrl();
+        }
+        spec = new RequestSpecBuilder()
+            .setBaseUri(baseUrl)
+            .setBasePath(ConfigReader.getApiBasePath())
+            .setConfig(RestAssuredConfig.config()
+                .httpClient(HttpClientPool.httpClientConfig())
+                .objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
+                    .defaultObjectMapper(JsonSupport.restAssuredMapper())))
+            .setContentType(ContentType.JSON)
+            .setAccept(ContentType.JSON)
+            .addHeader("Authorization", "Bearer " + ConfigReader.getAuthToken())
+            .addFilter(new Http2TransportFilter())
+            .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (stub != null) {
+            stub.stop();
+        }
+    }
+
+    @Benchmark
+    public String getCurrentUser() {
+        return given().spec(spec)
+            .queryParam("fields", "id,login")
+            .get("/users/me")
+            .then()
+            .statusCode(200)
+            .extract().asString();
+    }
+}
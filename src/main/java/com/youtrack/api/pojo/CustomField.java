@@ -2,8 +2,26 @@ package com.youtrack.api.pojo;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * An issue custom field. {@code value} is read as the typed model of the
+ * field's {@code $type}: {@link EnumValue} for enum, state, version, build and
+ * owned fields, {@link UserValue} for user fields, {@link PeriodValue} for
+ * period fields, and a list of them for the {@code Multi*} variants. Values of
+ * other field types keep Jackson's untyped mapping (String, Number, Map).
+ */
 @JsonIgnoreProperties(ignoreUnknown = true)
+@JsonDeserialize(using = CustomField.Deserializer.class)
 public class CustomField {
 
     @JsonProperty("name")
@@ -12,7 +30,13 @@ public class CustomField {
     @JsonProperty("$type")
     private String type;
 
+    // The value models Deserializer maps to; FieldsProjection requests their properties
     @JsonProperty("value")
+    @JsonSubTypes({
+        @JsonSubTypes.Type(EnumValue.class),
+        @JsonSubTypes.Type(UserValue.class),
+        @JsonSubTypes.Type(PeriodValue.class)
+    })
     private Object value;
 
     // Constructors
@@ -24,6 +48,49 @@ public class CustomField {
         this.value = value;
     }
 
+    // Typed values: serialized without the HashMap an untyped value needs
+    public static CustomField singleEnum(String name, String valueName) {
+        return new CustomField(name, "SingleEnumIssueCustomField", new EnumValue(valueName));
+    }
+
+    public static CustomField multiEnum(String name, String... valueNames) {
+        List<EnumValue> values = new ArrayList<>(valueNames.length);
+        for (String valueName : valueNames) {
+            values.add(new EnumValue(valueName));
+        }
+        return new CustomField(name, "MultiEnumIssueCustomField", values);
+    }
+
+    public static CustomField singleUser(String name, String login) {
+        return new CustomField(name, "SingleUserIssueCustomField", new UserValue(login));
+    }
+
+    public static CustomField period(String name, String presentation) {
+        return new CustomField(name, "PeriodIssueCustomField", new PeriodValue(presentation));
+    }
+
+    /**
+     * Model of a single value of a field of the given {@code $type}, or null
+     * for types without one.
+     */
+    static Class<?> valueClass(String type) {
+        if (type == null) {
+            return null;
+        }
+        if (type.endsWith("UserIssueCustomField")) {
+            return UserValue.class;
+        }
+        if (type.equals("PeriodIssueCustomField")) {
+            return PeriodValue.class;
+        }
+        if (type.endsWith("EnumIssueCustomField") || type.startsWith("State")
+                || type.endsWith("VersionIssueCustomField") || type.endsWith("BuildIssueCustomField")
+                || type.endsWith("OwnedIssueCustomField")) {
+            return EnumValue.class;
+        }
+        return null;
+    }
+
     // Getters and Setters
     public String getName() {
         return name;
@@ -48,4 +115,35 @@ public class CustomField {
     public void setValue(Object value) {
         this.value = value;
     }
+
+    static class Deserializer extends StdDeserializer<CustomField> {
+
+        Deserializer() {
+            super(CustomField.class);
+        }
+
+        @Override
+        public CustomField deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonNode node = parser.readValueAsTree();
+            CustomField field = new CustomField();
+            field.name = node.hasNonNull("name") ? node.get("name").asText() : null;
+            field.type = node.hasNonNull("$type") ? node.get("$type").asText() : null;
+
+            JsonNode value = node.get("value");
+            if (value == null || value.isNull()) {
+                return field;
+            }
+            Class<?> valueClass = valueClass(field.type);
+            JavaType valueType;
+            if (valueClass == null) {
+                valueType = context.constructType(Object.class);
+            } else if (value.isArray()) {
+                valueType = context.getTypeFactory().constructCollectionType(List.class, valueClass);
+            } else {
+                valueType = context.constructType(valueClass);
+            }
+            field.value = context.readTreeAsValue(value, valueType);
+            return field;
+        }
+    }
 }
@@ -0,0 +1,51 @@
+package com.youtrack.api.pojo;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PeriodValue {
+
+    @JsonProperty("minutes")
+    private Integer minutes;
+
+    @JsonProperty("presentation")
+    private String presentation;
+
+    @JsonProperty("$type")
+    private String type;
+
+    // Constructors
+    public PeriodValue() {}
+
+    public PeriodValue(String presentation) {
+        this.presentation = presentation;
+    }
+
+    // Getters and Setters
+    public Integer getMinutes() {
+        return minutes;
+    }
+
+    public void setMinutes(Integer minutes) {
+        this.minutes = minutes;
+    }
+
+    public String getPresentation() {
+        return presentation;
+    }
+
+    public void setPresentation(String presentation) {
+        this.presentation = presentation;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+}
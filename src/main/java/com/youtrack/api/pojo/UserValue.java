@@ -0,0 +1,62 @@
+package com.youtrack.api.pojo;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserValue {
+
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("login")
+    private String login;
+
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("$type")
+    private String type;
+
+    // Constructors
+    public UserValue() {}
+
+    public UserValue(String login) {
+        this.login = login;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public void setLogin(String login) {
+        this.login = login;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+}
@@ -0,0 +1,336 @@
+package com.youtrack.api.utils;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.utils.DateUtils;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Process-wide client-side throttle shared by every request, so raising the
+ * TestNG {@code thread-count} backs off instead of failing when YouTrack
+ * answers 429 or 503:
+ * <ul>
+ *   <li>a token bucket caps the request rate at {@code throttle.rate.per.second}
+ *       with bursts of {@code throttle.burst} (rate 0 means unlimited);</li>
+ *   <li>an AIMD limit caps concurrent requests: it grows by one per window of
+ *       successful requests up to {@code throttle.max.concurrency} and halves,
+ *       at most once per {@code throttle.decrease.cooldown.ms}, on 429/503, but
+ *       never drops below {@code throttle.min.concurrency};</li>
+ *   <li>a {@code Retry-After} header pauses every new request until it expires;</li>
+ *   <li>idempotent requests that get 429/503 are retried up to
+ *       {@code retry.count} times after {@code Retry-After} or a jittered
+ *       exponential backoff from {@code throttle.retry.base.delay.ms}.</li>
+ * </ul>
+ * {@link ThrottlingFilter} holds the concurrency permit around each request;
+ * {@link HttpClientPool} performs the retries and spends a token on each one;
+ * {@link AsyncYouTrackClient} does both without blocking.
+ * The rate, burst and concurrency range follow {@link ConfigReader} reloads.
+ */
+public class AdaptiveThrottle {
+
+    private static final Set<String> IDEMPOTENT_METHODS =
+        Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE");
+
+    private static final boolean enabled = ConfigReader.getBooleanProperty("throttle.enabled", true);
+    private static final long decreaseCooldownNanos = TimeUnit.MILLISECONDS.toNanos(
+        ConfigReader.getIntProperty("throttle.decrease.cooldown.ms", 1000));
+    private static final int maxRetries = Math.max(0, ConfigReader.getIntProperty("retry.count", 3));
+    private static final long retryBaseDelayMillis =
+        ConfigReader.getIntProperty("throttle.retry.base.delay.ms", 200);
+    private static final long retryMaxDelayMillis =
+        ConfigReader.getIntProperty("throttle.retry.max.delay.ms", 30000);
+
+    // A lock rather than synchronized/wait, so waiting virtual threads do not pin their carrier
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static final Condition permitReleased = lock.newCondition();
+    private static long intervalNanos;
+    private static int burst;
+    private static int minConcurrency;
+    private static int maxConcurrency;
+    private static double limit;
+    private static int inFlight;
+    private static int peakInFlight;
+    private static long lastDecreaseNanos = System.nanoTime() - decreaseCooldownNanos;
+    private static long nextTokenNanos = System.nanoTime();
+    private static long pausedUntilNanos = System.nanoTime();
+
+    private static final LongAdder overloadResponses = new LongAdder();
+    private static final LongAdder retries = new LongAdder();
+    private static final LongAdder decreases = new LongAdder();
+    private static final LongAdder retryAfterPauses = new LongAdder();
+    private static final LongAdder throttledRequests = new LongAdder();
+    private static final LongAdder throttledNanos = new LongAdder();
+
+    static {
+        configure(ConfigReader.snapshot());
+        limit = maxConcurrency;
+        ConfigReader.addReloadListener((previous, config) -> configure(config));
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Blocks until a concurrency permit and a rate token are available.
+     * Every call must be paired with {@link #release(int)}.
+     */
+    public static void acquire() throws InterruptedException {
+        tryAcquire(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Like {@link #acquire()}, but gives up waiting for a concurrency permit
+     * after {@code timeout}.
+     *
+     * @return whether the permit was acquired; if not, do not release it
+     */
+    public static boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long start = System.nanoTime();
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = permitReleased.awaitNanos(remaining);
+            }
+            inFlight++;
+            peakInFlight = Math.max(peakInFlight, inFlight);
+        } finally {
+            lock.unlock();
+        }
+        try {
+            awaitToken();
+        } catch (InterruptedException e) {
+            release(0);
+            throw e;
+        }
+        long waited = System.nanoTime() - start;
+        if (waited > TimeUnit.MILLISECONDS.toNanos(1)) {
+            throttledRequests.increment();
+            throttledNanos.add(waited);
+        }
+        return true;
+    }
+
+    /**
+     * Takes a concurrency permit only if one is free, for callers that must not
+     * block, such as {@link AsyncYouTrackClient}; the rate token is then taken
+     * with {@link #reserveToken()}. A successful call must be paired with
+     * {@link #release(int)}.
+     */
+    public static boolean tryAcquirePermit() {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+            inFlight++;
+            peakInFlight = Math.max(peakInFlight, inFlight);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the permit taken by {@link #acquire()}; {@code status} is the
+     * final status code, or 0 if the request failed without one.
+     */
+    public static void release(int status) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (status > 0 && !isOverload(status) && limit < maxConcurrency) {
+                limit = Math.min(maxConcurrency, limit + 1.0 / limit);
+            }
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the next rate token and for any {@code Retry-After} pause.
+     */
+    public static void awaitToken() throws InterruptedException {
+        long wait = reserveToken();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * Takes the next rate token without waiting for it.
+     *
+     * @return nanoseconds until the token and any {@code Retry-After} pause
+     *         are due, 0 if the request may go now
+     */
+    public static long reserveToken() {
+        long now = System.nanoTime();
+        long slot;
+        lock.lock();
+        try {
+            slot = Math.max(now, pausedUntilNanos);
+            if (intervalNanos > 0) {
+                slot = Math.max(slot, nextTokenNanos - (burst - 1) * intervalNanos);
+                nextTokenNanos = Math.max(nextTokenNanos, slot) + intervalNanos;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return slot - now;
+    }
+
+    public static boolean isOverload(int status) {
+        return status == 429 || status == 503;
+    }
+
+    /**
+     * Records an overload response (halving the concurrency limit and applying
+     * {@code Retry-After}) and decides whether to retry it.
+     *
+     * @return delay before the retry in milliseconds, or -1 not to retry
+     */
+    public static long onResponse(HttpRequest request, HttpResponse response, int attempt) {
+        Header retryAfter = response.getFirstHeader("Retry-After");
+        return onResponse(request.getRequestLine().getMethod(), isRepeatable(request),
+            response.getStatusLine().getStatusCode(), retryAfter == null ? null : retryAfter.getValue(), attempt);
+    }
+
+    /**
+     * Transport-neutral form of {@link #onResponse(HttpRequest, HttpResponse, int)};
+     * {@code repeatable} tells whether the request body can be sent again.
+     */
+    public static long onResponse(String method, boolean repeatable, int status, String retryAfter,
+                                  int attempt) {
+        if (!isOverload(status)) {
+            return -1;
+        }
+        overloadResponses.increment();
+        long retryAfterMillis = parseRetryAfter(retryAfter);
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (now - lastDecreaseNanos >= decreaseCooldownNanos) {
+                limit = Math.max(minConcurrency, limit / 2);
+                lastDecreaseNanos = now;
+                decreases.increment();
+            }
+            if (retryAfterMillis >= 0) {
+                pausedUntilNanos = Math.max(pausedUntilNanos,
+                    now + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis));
+                retryAfterPauses.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (attempt > maxRetries || !repeatable || !IDEMPOTENT_METHODS.contains(method)) {
+            return -1;
+        }
+        retries.increment();
+        if (retryAfterMillis >= 0) {
+            return retryAfterMillis;
+        }
+        long backoff = Math.min(retryMaxDelayMillis, retryBaseDelayMillis << Math.min(attempt - 1, 20));
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    public static int getConcurrencyLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static long getOverloadResponses() {
+        return overloadResponses.sum();
+    }
+
+    public static long getRetries() {
+        return retries.sum();
+    }
+
+    public static boolean hasActivity() {
+        return overloadResponses.sum() > 0 || throttledRequests.sum() > 0;
+    }
+
+    public static String describeStats() {
+        int currentLimit;
+        int peak;
+        int min;
+        int max;
+        lock.lock();
+        try {
+            currentLimit = (int) limit;
+            peak = peakInFlight;
+            min = minConcurrency;
+            max = maxConcurrency;
+        } finally {
+            lock.unlock();
+        }
+        return String.format("429/503 responses %d, retries %d, limit decreases %d, "
+                + "Retry-After pauses %d, concurrency limit %d (range %d-%d, peak in-flight %d), "
+                + "throttled requests %d (waited %d ms)",
+            overloadResponses.sum(), retries.sum(), decreases.sum(), retryAfterPauses.sum(),
+            currentLimit, min, max, peak,
+            throttledRequests.sum(), throttledNanos.sum() / 1_000_000);
+    }
+
+    // Package-private for AdaptiveThrottleTest, which narrows the range
+    static void configure(ConfigSnapshot config) {
+        double ratePerSecond = config.getDouble("throttle.rate.per.second", 0);
+        lock.lock();
+        try {
+            intervalNanos = ratePerSecond > 0 ? (long) (1_000_000_000L / ratePerSecond) : 0;
+            burst = Math.max(1, config.getInt("throttle.burst", 10));
+            minConcurrency = Math.max(1, config.getInt("throttle.min.concurrency", 1));
+            maxConcurrency = Math.max(minConcurrency, config.getInt("throttle.max.concurrency", 64));
+            limit = Math.max(minConcurrency, Math.min(maxConcurrency, limit));
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean isRepeatable(HttpRequest request) {
+        return !(request instanceof HttpEntityEnclosingRequest)
+            || ((HttpEntityEnclosingRequest) request).getEntity() == null
+            || ((HttpEntityEnclosingRequest) request).getEntity().isRepeatable();
+    }
+
+    /**
+     * {@code Retry-After} as delay-seconds or HTTP-date, capped at
+     * {@code throttle.retry.max.delay.ms}; -1 when absent or unparseable.
+     */
+    private static long parseRetryAfter(String header) {
+        if (header == null) {
+            return -1;
+        }
+        String value = header.trim();
+        long millis;
+        try {
+            millis = TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            Date date = DateUtils.parseDate(value);
+            if (date == null) {
+                return -1;
+            }
+            millis = date.getTime() - System.currentTimeMillis();
+        }
+        return Math.max(0, Math.min(millis, retryMaxDelayMillis));
+    }
+}
@@ -0,0 +1,91 @@
+package com.youtrack.api.utils;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes log entries to stdout from a single background thread, so test threads
+ * never contend on {@code System.out}. The buffer is bounded
+ * ({@code log.queue.capacity}); entries offered while it is full are dropped and
+ * counted instead of blocking the caller.
+ */
+public class AsyncLogWriter {
+
+    private static final int BATCH_SIZE = 256;
+
+    private static final BlockingQueue<String> queue =
+        new ArrayBlockingQueue<>(ConfigReader.getIntProperty("log.queue.capacity", 1024));
+    private static final LongAdder dropped = new LongAdder();
+    private static final AtomicInteger pending = new AtomicInteger();
+    private static final Object drainLock = new Object();
+    private static final PrintStream out = System.out;
+
+    static {
+        Thread writer = new Thread(AsyncLogWriter::drainLoop, "async-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public static void log(String entry) {
+        pending.incrementAndGet();
+        if (!queue.offer(entry)) {
+            pending.decrementAndGet();
+            dropped.increment();
+        }
+    }
+
+    public static long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Waits until everything queued so far has been written, or the timeout expires.
+     */
+    public static void flush(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (drainLock) {
+            while (pending.get() > 0 && System.currentTimeMillis() < deadline) {
+                try {
+                    drainLock.wait(Math.max(1, deadline - System.currentTimeMillis()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        out.flush();
+    }
+
+    private static void drainLoop() {
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                String first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+
+                    StringBuilder text = new StringBuilder();
+                    for (String entry : batch) {
+                        text.append(entry).append(System.lineSeparator());
+                    }
+                    out.print(text);
+                    out.flush();
+                    pending.addAndGet(-batch.size());
+                    batch.clear();
+                }
+                synchronized (drainLock) {
+                    drainLock.notifyAll();
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
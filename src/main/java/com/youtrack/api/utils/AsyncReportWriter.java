@@ -0,0 +1,130 @@
+package com.youtrack.api.utils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands test results from TestNG worker threads to report sinks.
+ *
+ * Producers append to a lock-free queue and return immediately; a single writer
+ * thread drains it in batches and flushes the sinks once per batch. The queue
+ * is bounded ({@code report.queue.capacity}): a producer only waits, briefly
+ * and without taking a lock, if the writer is that many results behind, so no
+ * result is ever lost.
+ */
+public class AsyncReportWriter {
+
+    private static final int BATCH_SIZE = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long BACKOFF_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Queue<TestResultRecord> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+    private final List<ReportSink> sinks;
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+    private volatile boolean idle;
+
+    private AsyncReportWriter(List<ReportSink> sinks, int capacity) {
+        this.sinks = sinks;
+        this.capacity = capacity;
+        this.writerThread = new Thread(this::drainLoop, "test-report-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    /**
+     * Creates a writer and starts its thread, which must not see a partly
+     * constructed writer.
+     */
+    public static AsyncReportWriter start(List<ReportSink> sinks, int capacity) {
+        AsyncReportWriter writer = new AsyncReportWriter(sinks, capacity);
+        writer.writerThread.start();
+        return writer;
+    }
+
+    public void submit(TestResultRecord record) {
+        while (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            wakeWriter();
+            LockSupport.parkNanos(BACKOFF_PARK_NANOS);
+        }
+        queue.offer(record);
+        if (idle) {
+            wakeWriter();
+        }
+    }
+
+    /**
+     * Stops accepting work, waits for the writer thread to write everything
+     * already submitted and returns once it has exited.
+     */
+    public void close() {
+        running = false;
+        wakeWriter();
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void wakeWriter() {
+        LockSupport.unpark(writerThread);
+    }
+
+    private void drainLoop() {
+        while (true) {
+            int written = drainBatch();
+            if (written > 0) {
+                flushSinks();
+                continue;
+            }
+            if (!running) {
+                if (queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+
+            idle = true;
+            if (queue.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            idle = false;
+        }
+    }
+
+    private int drainBatch() {
+        int written = 0;
+        TestResultRecord record;
+        while (written < BATCH_SIZE && (record = queue.poll()) != null) {
+            size.decrementAndGet();
+            for (ReportSink sink : sinks) {
+                try {
+                    sink.record(record);
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Failed to write test result to report: " + e.getMessage());
+                }
+            }
+            written++;
+        }
+        return written;
+    }
+
+    private void flushSinks() {
+        for (ReportSink sink : sinks) {
+            try {
+                sink.flush();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Failed to flush report: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.youtrack.api.utils;
+
+import com.youtrack.api.pojo.Issue;
+import io.restassured.http.Header;
+import io.restassured.specification.QueryableRequestSpecification;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.SpecificationQuerier;
+import org.testng.ITestResult;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterpart of {@code given().spec(requestSpec)...} for fan-out
+ * scenarios: each call returns at once with a {@link CompletableFuture}, so one
+ * test thread can keep hundreds of requests in flight, e.g.
+ * {@code createIssue(issue, "id").thenCompose(created -> getIssue(created.getId(), fields))}.
+ *
+ * Base URI, base path and headers (including {@code Authorization}) are taken
+ * from the given {@link RequestSpecification}; bodies are the same POJOs,
+ * serialized by {@link JsonSupport}. Requests go through the shared JDK
+ * {@link HttpClient} of {@link Http2Transport} (HTTP/2 with
+ * {@code http.transport=http2}) instead of RestAssured, so its filters do not apply:
+ * latency is recorded in {@link LatencyStats} and created issues are
+ * registered for cleanup here, the connect timeout and the total deadline come
+ * from {@link RequestDeadlines} (requests are refused after the suite
+ * deadline), compression and byte counts follow {@link HttpCompression}, and
+ * {@link AdaptiveThrottle} permits, rate tokens and 429/503 retries apply as
+ * they do to RestAssured requests. At most {@code async.max.in.flight}
+ * requests run at once; further calls are queued and start as slots free up,
+ * so the caller never blocks. A non-2xx response completes the future with
+ * {@link UnexpectedStatusException}.
+ */
+public class AsyncYouTrackClient {
+
+    private static final Semaphore inFlight =
+        new Semaphore(ConfigReader.getIntProperty("async.max.in.flight", 64));
+    private static final Queue<Exchange<?>> waiting = new ConcurrentLinkedQueue<>();
+    // AdaptiveThrottle.release only wakes blocked threads, so a request without a permit polls
+    private static final long PERMIT_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final String baseUrl;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+
+    public AsyncYouTrackClient(RequestSpecification spec) {
+        QueryableRequestSpecification query = SpecificationQuerier.query(spec);
+        this.baseUrl = query.getBaseUri() + (query.getBasePath() == null ? "" : query.getBasePath());
+        for (Header header : query.getHeaders()) {
+            if (!Http2Transport.RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                headers.put(header.getName(), header.getValue());
+            }
+        }
+    }
+
+    public CompletableFuture<Issue> createIssue(Issue issue, String fields) {
+        return post("/issues", Map.of("fields", fields), issue, Issue.class)
+            .thenApply(created -> {
+                CreatedIssueRegistry.register(created.getId());
+                return created;
+            });
+    }
+
+    public CompletableFuture<Issue> getIssue(String issueId, String fields) {
+        return get("/issues/" + issueId, Map.of("fields", fields), Issue.class);
+    }
+
+    public CompletableFuture<Void> deleteIssue(String issueId) {
+        return send("DELETE", "/issues/" + issueId, Map.of(), null, Void.class);
+    }
+
+    public <T> CompletableFuture<T> get(String path, Map<String, String> queryParams, Class<T> type) {
+        return send("GET", path, queryParams, null, type);
+    }
+
+    public <T> CompletableFuture<T> post(String path, Map<String, String> queryParams, Object body,
+                                         Class<T> type) {
+        return send("POST", path, queryParams, body, type);
+    }
+
+    private <T> CompletableFuture<T> send(String method, String path, Map<String, String> queryParams,
+                                          Object body, Class<T> type) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path, queryParams));
+        headers.forEach(request::header);
+        if (HttpCompression.isResponseCompressionEnabled()) {
+            request.header("Accept-Encoding", "gzip,deflate");
+        }
+        byte[] plainBody = new byte[0];
+        byte[] wireBody = plainBody;
+        if (body != null) {
+            try {
+                plainBody = JsonSupport.mapper().writeValueAsBytes(body);
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(
+                    new UncheckedIOException("Failed to serialize request body", e));
+            }
+            wireBody = plainBody;
+            if (HttpCompression.shouldCompressRequest(method, plainBody.length)) {
+                wireBody = HttpCompression.gzip(plainBody);
+                request.header("Content-Encoding", "gzip");
+            }
+            request.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(wireBody));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        long deadline;
+        try {
+            deadline = RequestDeadlines.deadlineFor(method, path);
+        } catch (IllegalStateException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        Exchange<T> exchange = new Exchange<>(method, path, request, wireBody.length, plainBody,
+            deadline, type);
+        waiting.add(exchange);
+        startWaiting();
+        return exchange.result;
+    }
+
+    /**
+     * Starts queued requests while slots are free. Runs after every enqueue and
+     * every release, so no request is left waiting behind a free slot.
+     */
+    private static void startWaiting() {
+        while (!waiting.isEmpty() && inFlight.tryAcquire()) {
+            Exchange<?> next = waiting.poll();
+            if (next == null) {
+                inFlight.release();
+            } else {
+                next.attempt(1);
+            }
+        }
+    }
+
+    private URI uri(String path, Map<String, String> queryParams) {
+        String query = queryParams.entrySet().stream()
+            .map(param -> URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8) + "="
+                + URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8))
+            .collect(Collectors.joining("&"));
+        return URI.create(baseUrl + path + (query.isEmpty() ? "" : "?" + query));
+    }
+
+    private static <T> T read(String method, String path, int status, byte[] body, Class<T> type) {
+        if (status / 100 != 2) {
+            throw new UnexpectedStatusException(method, path, status, new String(body, StandardCharsets.UTF_8));
+        }
+        if (type == Void.class || body.length == 0) {
+            return null;
+        }
+        try {
+            return JsonSupport.mapper().readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse response of " + method + " " + path, e);
+        }
+    }
+
+    /**
+     * One request holding an {@code async.max.in.flight} slot from its first
+     * attempt until the future completes, retries included.
+     */
+    private static class Exchange<T> {
+
+        private final String method;
+        private final String path;
+        private final String endpoint;
+        private final HttpRequest.Builder request;
+        private final long sentWire;
+        private final byte[] plainBody;
+        private final long deadlineNanos;
+        private final Class<T> type;
+        private final ITestResult test = ConditionalLoggingFilter.currentTest();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        Exchange(String method, String path, HttpRequest.Builder request, long sentWire, byte[] plainBody,
+                 long deadlineNanos, Class<T> type) {
+            this.method = method;
+            this.path = path;
+            this.endpoint = LatencyStats.endpointKey(method, path);
+            this.request = request;
+            this.sentWire = sentWire;
+            this.plainBody = plainBody;
+            this.deadlineNanos = deadlineNanos;
+            this.type = type;
+        }
+
+        void attempt(int attempt) {
+            if (expired()) {
+                return;
+            }
+            if (AdaptiveThrottle.isEnabled()) {
+                if (!AdaptiveThrottle.tryAcquirePermit()) {
+                    later(PERMIT_POLL_NANOS, () -> attempt(attempt));
+                    return;
+                }
+                long wait = AdaptiveThrottle.reserveToken();
+                if (wait > 0) {
+                    later(wait, () -> send(attempt));
+                    return;
+                }
+            }
+            send(attempt);
+        }
+
+        private void send(int attempt) {
+            if (expired()) {
+                releasePermit(0);
+                return;
+            }
+            long start = System.nanoTime();
+            HttpRequest sent;
+            CompletableFuture<HttpResponse<byte[]>> response;
+            try {
+                sent = request.timeout(Duration.ofNanos(deadlineNanos - start)).build();
+                response = Http2Transport.client().sendAsync(sent, HttpResponse.BodyHandlers.ofByteArray());
+            } catch (RuntimeException e) {
+                releasePermit(0);
+                finish(null, e);
+                return;
+            }
+            response.whenComplete((received, error) -> {
+                int status = received == null ? 0 : received.statusCode();
+                releasePermit(status);
+                if (received != null) {
+                    Http2Transport.countAsyncVersion(received.version());
+                }
+                LatencyStats.record(endpoint, start, System.nanoTime(), error != null || status >= 500);
+                if (error != null) {
+                    recordExchange(sent, "<no response: " + error + ">", null);
+                    finish(null, error);
+                    return;
+                }
+                if (AdaptiveThrottle.isEnabled()) {
+                    long delayMillis = AdaptiveThrottle.onResponse(method, true, status,
+                        received.headers().firstValue("Retry-After").orElse(null), attempt);
+                    if (delayMillis >= 0
+                            && TimeUnit.MILLISECONDS.toNanos(delayMillis) < deadlineNanos - System.nanoTime()) {
+                        later(TimeUnit.MILLISECONDS.toNanos(delayMillis), () -> attempt(attempt + 1));
+                        return;
+                    }
+                }
+                try {
+                    byte[] decoded = HttpCompression.decode(
+                        received.headers().firstValue("Content-Encoding").orElse(null), received.body());
+                    HttpCompression.record(endpoint, sentWire, plainBody.length, received.body().length,
+                        decoded.length);
+                    recordExchange(sent, received.version() + " " + status,
+                        new String(decoded, StandardCharsets.UTF_8));
+                    finish(read(method, path, status, decoded, type), null);
+                } catch (RuntimeException e) {
+                    finish(null, e);
+                }
+            });
+        }
+
+        private void recordExchange(HttpRequest sent, String statusLine, String responseBody) {
+            List<Header> sentHeaders = new ArrayList<>();
+            sent.headers().map().forEach((name, values) ->
+                values.forEach(value -> sentHeaders.add(new Header(name, value))));
+            ConditionalLoggingFilter.recordExchange(test, method, sent.uri().toString(), sentHeaders,
+                plainBody.length == 0 ? null : plainBody, statusLine, responseBody);
+        }
+
+        private boolean expired() {
+            if (deadlineNanos - System.nanoTime() > 0) {
+                return false;
+            }
+            finish(null, new IllegalStateException(method + " " + path + " aborted after its deadline"));
+            return true;
+        }
+
+        private static void releasePermit(int status) {
+            if (AdaptiveThrottle.isEnabled()) {
+                AdaptiveThrottle.release(status);
+            }
+        }
+
+        private static void later(long delayNanos, Runnable task) {
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(task);
+        }
+
+        // Frees the slot first, so a request chained on this one can start
+        private void finish(T value, Throwable error) {
+            inFlight.release();
+            startWaiting();
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+
+    /**
+     * A response outside 2xx; carries the status and body for negative checks.
+     */
+    public static class UnexpectedStatusException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int statusCode;
+        private final String body;
+
+        public UnexpectedStatusException(String method, String path, int statusCode, String body) {
+            super(method + " " + path + " returned " + statusCode + ": " + body);
+            this.statusCode = statusCode;
+            this.body = body;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public String getBody() {
+            return body;
+        }
+    }
+}
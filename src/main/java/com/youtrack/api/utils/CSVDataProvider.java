@@ -1,34 +1,92 @@
 package com.youtrack.api.utils;
 
 import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvException;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 public class CSVDataProvider {
 
+    // Part of the TestDataCache key: bump when parsed row values change
+    private static final String CACHE_VARIANT = "csv:v1";
+
     public static Object[][] readCSV(String filePath) {
-        List<String[]> records = new ArrayList<>();
+        return TestDataCache.rows(filePath, CACHE_VARIANT, () -> parseCSV(filePath));
+    }
+
+    /**
+     * Lazily reads CSV rows (header skipped) one at a time, so memory stays flat
+     * regardless of file size. The underlying reader is closed once the last row
+     * has been returned. Rows are served from {@link TestDataCache} when the
+     * file content has been parsed before.
+     */
+    public static Iterator<Object[]> streamCSV(String filePath) {
+        return TestDataCache.stream(filePath, CACHE_VARIANT, () -> parseCSV(filePath));
+    }
+
+    public static Object[][] getIssueTestData(String filePath) {
+        return readCSV(filePath);
+    }
 
-        try (CSVReader csvReader = new CSVReader(new FileReader(filePath))) {
-            records = csvReader.readAll();
+    private static Iterator<Object[]> parseCSV(String filePath) {
+        try {
+            CSVReader csvReader = new CSVReader(new BufferedReader(new FileReader(filePath)));
             // Skip header row
-            records.remove(0);
-        } catch (IOException | CsvException e) {
+            if (readRow(csvReader, filePath) == null) {
+                return Collections.emptyIterator();
+            }
+            return new CSVRowIterator(csvReader, filePath);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read CSV file: " + filePath, e);
+        }
+    }
+
+    private static String[] readRow(CSVReader csvReader, String filePath) {
+        try {
+            String[] row = csvReader.readNext();
+            if (row == null) {
+                csvReader.close();
+            }
+            return row;
+        } catch (IOException | CsvValidationException e) {
+            try {
+                csvReader.close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
             throw new RuntimeException("Failed to read CSV file: " + filePath, e);
         }
+    }
+
+    private static class CSVRowIterator implements Iterator<Object[]> {
+
+        private final CSVReader csvReader;
+        private final String filePath;
+        private String[] nextRow;
 
-        Object[][] data = new Object[records.size()][];
-        for (int i = 0; i < records.size(); i++) {
-            data[i] = records.get(i);
+        CSVRowIterator(CSVReader csvReader, String filePath) {
+            this.csvReader = csvReader;
+            this.filePath = filePath;
+            this.nextRow = readRow(csvReader, filePath);
         }
 
-        return data;
-    }
+        @Override
+        public synchronized boolean hasNext() {
+            return nextRow != null;
+        }
 
-    public static Object[][] getIssueTestData(String filePath) {
-        return readCSV(filePath);
+        @Override
+        public synchronized Object[] next() {
+            if (nextRow == null) {
+                throw new NoSuchElementException("No more rows in CSV file: " + filePath);
+            }
+            String[] current = nextRow;
+            nextRow = readRow(csvReader, filePath);
+            return current;
+        }
     }
 }
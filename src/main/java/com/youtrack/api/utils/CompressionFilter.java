@@ -0,0 +1,54 @@
+package com.youtrack.api.utils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Gzips large request bodies when {@code http.compression.request=true} and
+ * counts the body bytes of every request in {@link HttpCompression}. Must come
+ * before {@link ResponseBufferingFilter}, so the response body has been read
+ * from the connection when it returns.
+ */
+public class CompressionFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        int plainRequestBytes = -1;
+        if (HttpCompression.isRequestCompressionEnabled()
+                && !requestSpec.getHeaders().hasHeaderWithName("Content-Encoding")) {
+            byte[] body = bodyBytes(requestSpec.getBody());
+            if (body != null && HttpCompression.shouldCompressRequest(requestSpec.getMethod(), body.length)) {
+                requestSpec.body(HttpCompression.gzip(body));
+                requestSpec.header("Content-Encoding", "gzip");
+                plainRequestBytes = body.length;
+            }
+        }
+
+        HttpCompression.Exchange exchange = HttpCompression.begin(
+            LatencyStats.endpointKey(requestSpec.getMethod(), requestSpec.getUserDefinedPath()));
+        int decodedBytes = -1;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            if (!StreamingJson.isStreamingRequest()) {
+                decodedBytes = response.asByteArray().length;
+            }
+            return response;
+        } finally {
+            HttpCompression.end(exchange, plainRequestBytes, decodedBytes);
+        }
+    }
+
+    private static byte[] bodyBytes(Object body) {
+        if (body instanceof byte[]) {
+            return (byte[]) body;
+        }
+        // The shared spec sends JSON, which RestAssured encodes as UTF-8
+        return body instanceof String ? ((String) body).getBytes(StandardCharsets.UTF_8) : null;
+    }
+}
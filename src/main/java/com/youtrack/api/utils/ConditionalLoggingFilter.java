@@ -0,0 +1,211 @@
+package com.youtrack.api.utils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Request/response logging that only renders an exchange when it is needed.
+ *
+ * Modes ({@code log.mode}):
+ * <ul>
+ *   <li>{@code failures} (default) - exchanges are remembered per test
+ *       ({@link ITestResult}) and logged only if it fails, see
+ *       {@link #logRecordedExchanges(ITestResult)}</li>
+ *   <li>{@code all} - every exchange is logged</li>
+ *   <li>{@code none} - nothing is logged</li>
+ * </ul>
+ * Additionally {@code log.sample.rate} (0.0 - 1.0) logs a random fraction of
+ * passing exchanges. Bodies are truncated to {@code log.max.body.chars} and all
+ * output goes through {@link AsyncLogWriter}.
+ *
+ * The test is TestNG's current one on the calling thread. Work a test hands to
+ * other threads ({@link VirtualThreadRunner}, {@link LoadGenerator},
+ * {@link PagingIterator} prefetches) is wrapped with {@link #inCurrentTest(Runnable)},
+ * and {@link AsyncYouTrackClient} records its exchanges with
+ * {@link #recordExchange}, so those exchanges are logged with the test too.
+ */
+public class ConditionalLoggingFilter implements Filter {
+
+    private static final int MAX_RECORDED_EXCHANGES = 8;
+
+    private static final String mode = configuredMode();
+    private static final double sampleRate = ConfigReader.getDoubleProperty("log.sample.rate", 0.0);
+    private static final int maxBodyChars = ConfigReader.getIntProperty("log.max.body.chars", 4096);
+
+    private static final Map<ITestResult, Deque<Exchange>> recordedExchanges = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ITestResult> inheritedTest = new ThreadLocal<>();
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (!"none".equals(mode)) {
+            boolean streamed = StreamingJson.isStreamingRequest();
+            handle(currentTest(), new Exchange(requestSpec.getMethod(), requestSpec.getURI(),
+                requestSpec.getHeaders(), requestSpec.getBody(), response.getStatusLine(),
+                () -> streamed ? "<streamed, not captured>" : truncate(response.asString())));
+        }
+        return response;
+    }
+
+    /**
+     * Records an exchange made outside RestAssured for {@code test}, which the
+     * caller captured with {@link #currentTest()} when the request was made.
+     */
+    public static void recordExchange(ITestResult test, String method, String uri, Iterable<Header> headers,
+                                      Object requestBody, String statusLine, String responseBody) {
+        if (!"none".equals(mode)) {
+            handle(test, new Exchange(method, uri, headers, requestBody, statusLine, () -> truncate(responseBody)));
+        }
+    }
+
+    /**
+     * The test that exchanges on this thread belong to, or null outside tests.
+     */
+    public static ITestResult currentTest() {
+        ITestResult inherited = inheritedTest.get();
+        return inherited != null ? inherited : Reporter.getCurrentTestResult();
+    }
+
+    /**
+     * Wraps {@code task} so that exchanges it makes, on whatever thread it
+     * runs, are recorded for the test that is current here.
+     */
+    public static Runnable inCurrentTest(Runnable task) {
+        ITestResult test = currentTest();
+        if (test == null) {
+            return task;
+        }
+        return () -> {
+            ITestResult previous = inheritedTest.get();
+            inheritedTest.set(test);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    inheritedTest.set(previous);
+                } else {
+                    inheritedTest.remove();
+                }
+            }
+        };
+    }
+
+    /**
+     * Logs the exchanges recorded for {@code test}. Called when it fails.
+     */
+    public static void logRecordedExchanges(ITestResult test) {
+        Deque<Exchange> recorded = recordedExchanges.remove(test);
+        if (recorded == null) {
+            return;
+        }
+        synchronized (recorded) {
+            for (Exchange exchange : recorded) {
+                AsyncLogWriter.log(exchange.render());
+            }
+        }
+    }
+
+    /**
+     * Forgets the exchanges recorded for {@code test}. Called when it starts,
+     * passes or is skipped.
+     */
+    public static void forgetRecordedExchanges(ITestResult test) {
+        recordedExchanges.remove(test);
+    }
+
+    private static void handle(ITestResult test, Exchange exchange) {
+        if ("all".equals(mode)
+                || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            AsyncLogWriter.log(exchange.render());
+        } else if ("failures".equals(mode) && test != null) {
+            Deque<Exchange> recorded = recordedExchanges.computeIfAbsent(test, key -> new ArrayDeque<>());
+            synchronized (recorded) {
+                if (recorded.size() == MAX_RECORDED_EXCHANGES) {
+                    recorded.removeFirst();
+                }
+                recorded.addLast(exchange);
+            }
+        }
+    }
+
+    private static String configuredMode() {
+        String configured = ConfigReader.getProperty("log.mode");
+        return configured == null ? "failures" : configured.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String truncate(String value) {
+        if (value == null || maxBodyChars <= 0 || value.length() <= maxBodyChars) {
+            return value;
+        }
+        return value.substring(0, maxBodyChars)
+            + "... [" + (value.length() - maxBodyChars) + " more chars truncated]";
+    }
+
+    private static class Exchange {
+
+        private final String method;
+        private final String uri;
+        private final Iterable<Header> headers;
+        private final Object requestBody;
+        private final String statusLine;
+        private final Supplier<String> responseBody;
+
+        Exchange(String method, String uri, Iterable<Header> headers, Object requestBody, String statusLine,
+                 Supplier<String> responseBody) {
+            this.method = method;
+            this.uri = uri;
+            this.headers = headers;
+            this.requestBody = requestBody;
+            this.statusLine = statusLine;
+            this.responseBody = responseBody;
+        }
+
+        String render() {
+            StringBuilder text = new StringBuilder();
+            text.append("Request method:\t").append(method).append('\n');
+            text.append("Request URI:\t").append(uri).append('\n');
+            text.append("Headers:");
+            boolean anyHeader = false;
+            for (Header header : headers) {
+                String value = "Authorization".equalsIgnoreCase(header.getName())
+                    ? "[masked]" : header.getValue();
+                text.append("\t\t").append(header.getName()).append('=').append(value).append('\n');
+                anyHeader = true;
+            }
+            if (!anyHeader) {
+                text.append("\t\t<none>\n");
+            }
+            text.append("Body:\n").append(truncate(bodyAsString(requestBody))).append('\n');
+
+            text.append(statusLine).append('\n');
+            text.append(responseBody.get()).append('\n');
+            return text.toString();
+        }
+
+        private String bodyAsString(Object body) {
+            if (body == null) {
+                return "<none>";
+            }
+            if (body instanceof byte[]) {
+                return new String((byte[]) body, StandardCharsets.UTF_8);
+            }
+            return body.toString();
+        }
+    }
+}
@@ -1,48 +1,158 @@
 package com.youtrack.api.utils;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.Properties;
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 
+/**
+ * Access to the current {@link ConfigSnapshot}. Reads never lock; a reload
+ * builds a new snapshot and swaps it in atomically, so a caller that needs
+ * several consistent values should take {@link #snapshot()} once.
+ *
+ * With {@code config.reload.interval.seconds > 0} the layer files (e.g. the
+ * one named by {@code config.file}) are polled and the configuration is
+ * reloaded when one of them changes, so long load runs can be retuned without
+ * a restart. Settings read once at startup keep their value; components that
+ * can adapt register a listener with {@link #addReloadListener}.
+ */
 public class ConfigReader {
 
-    private static Properties properties;
-    private static final String CONFIG_FILE = "config.properties";
+    private static final AtomicReference<ConfigSnapshot> current =
+        new AtomicReference<>(ConfigSnapshot.load());
+    private static final List<BiConsumer<ConfigSnapshot, ConfigSnapshot>> listeners =
+        new CopyOnWriteArrayList<>();
+    private static final LongAdder reloads = new LongAdder();
+    private static volatile Set<String> lastChangedKeys = Set.of();
 
     static {
-        properties = new Properties();
-        try (InputStream input = ConfigReader.class.getClassLoader()
-                .getResourceAsStream(CONFIG_FILE)) {
-            if (input == null) {
-                throw new RuntimeException("Unable to find " + CONFIG_FILE);
-            }
-            properties.load(input);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load configuration file", e);
+        int interval = current.get().getInt("config.reload.interval.seconds", 0);
+        if (interval > 0) {
+            startWatching(interval);
         }
     }
 
+    public static ConfigSnapshot snapshot() {
+        return current.get();
+    }
+
     public static String getBaseUrl() {
-        return properties.getProperty("base.url");
+        return snapshot().getBaseUrl();
     }
 
     public static String getApiBasePath() {
-        return properties.getProperty("api.base.path");
+        return snapshot().getApiBasePath();
     }
 
     public static String getAuthToken() {
-        return properties.getProperty("auth.token");
+        return snapshot().getAuthToken();
     }
 
     public static int getTimeout() {
-        return Integer.parseInt(properties.getProperty("timeout.seconds", "30"));
+        return snapshot().getTimeoutSeconds();
     }
 
     public static String getTestProjectId() {
-        return properties.getProperty("test.project.id");
+        return snapshot().getTestProjectId();
     }
 
+    /**
+     * A system property with the same name (e.g. {@code mvn test -Dstub.enabled=true})
+     * takes precedence over {@code config.properties}; see {@link ConfigSnapshot}
+     * for the other layers.
+     */
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return snapshot().getString(key);
+    }
+
+    public static boolean getBooleanProperty(String key, boolean defaultValue) {
+        return snapshot().getBoolean(key, defaultValue);
+    }
+
+    public static int getIntProperty(String key, int defaultValue) {
+        return snapshot().getInt(key, defaultValue);
+    }
+
+    public static double getDoubleProperty(String key, double defaultValue) {
+        return snapshot().getDouble(key, defaultValue);
+    }
+
+    /**
+     * Resolves every layer again and, if any value changed, swaps in the new
+     * snapshot and notifies the listeners with the previous and new snapshots.
+     *
+     * @return whether the configuration changed
+     */
+    public static synchronized boolean reload() {
+        ConfigSnapshot previous = current.get();
+        ConfigSnapshot next = ConfigSnapshot.load();
+        Map<String, String> changes = next.changesSince(previous);
+        if (changes.isEmpty()) {
+            return false;
+        }
+        current.set(next);
+        reloads.increment();
+        lastChangedKeys = changes.keySet();
+        for (BiConsumer<ConfigSnapshot, ConfigSnapshot> listener : listeners) {
+            try {
+                listener.accept(previous, next);
+            } catch (RuntimeException e) {
+                System.err.println("Config reload listener failed: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Called with the previous and new snapshot after every reload that changed something.
+     */
+    public static void addReloadListener(BiConsumer<ConfigSnapshot, ConfigSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeReloadListener(BiConsumer<ConfigSnapshot, ConfigSnapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    public static boolean hasReloaded() {
+        return reloads.sum() > 0;
+    }
+
+    public static String describeReloads() {
+        return "reloads " + reloads.sum() + ", version " + snapshot().getVersion()
+            + ", last changed " + lastChangedKeys;
+    }
+
+    private static void startWatching(int intervalSeconds) {
+        ScheduledExecutorService watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "config-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<File, Long> modified = new HashMap<>();
+        watcher.scheduleWithFixedDelay(() -> {
+            boolean changed = false;
+            for (File file : snapshot().getFiles()) {
+                long lastModified = file.lastModified();
+                Long previous = modified.put(file, lastModified);
+                changed |= previous != null && previous != lastModified;
+            }
+            if (changed) {
+                try {
+                    reload();
+                } catch (RuntimeException e) {
+                    // A half-written file: keep the current snapshot and retry on the next change
+                    System.err.println("Config reload failed: " + e.getMessage());
+                }
+            }
+        }, 0, intervalSeconds, TimeUnit.SECONDS);
     }
 }
@@ -0,0 +1,287 @@
+package com.youtrack.api.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Immutable view of the configuration, resolved once from these layers (later
+ * ones win):
+ * <ol>
+ *   <li>{@code config.properties} on the classpath;</li>
+ *   <li>{@code config-<profile>.properties} when {@code config.profile} is set;</li>
+ *   <li>{@code config-shard-<index>.properties}, if present, in a sharded run;</li>
+ *   <li>the file named by {@code config.file}, outside the classpath;</li>
+ *   <li>environment variables {@code YOUTRACK_*}, e.g. {@code YOUTRACK_AUTH_TOKEN}
+ *       for {@code auth.token};</li>
+ *   <li>system properties ({@code -Dkey=value}) for keys that one of the
+ *       layers above defines or that start with {@code config.}; the rest of
+ *       the JVM's properties ({@code java.*}, {@code user.*}, ...) stay out.</li>
+ * </ol>
+ * Typed values are parsed on first use and then kept with the snapshot, so hot
+ * paths do not re-parse strings. {@link ConfigReader} holds the current snapshot
+ * and swaps in a new one on reload.
+ */
+public final class ConfigSnapshot {
+
+    static final String CONFIG_FILE = "config.properties";
+    private static final String ENV_PREFIX = "YOUTRACK_";
+    private static final String NAMESPACE_PREFIX = "config.";
+    private static final AtomicLong versions = new AtomicLong();
+
+    private final long version;
+    private final Map<String, String> values;
+    private final Map<String, String> sources;
+    private final List<File> files;
+    private final Map<String, Object> parsed = new ConcurrentHashMap<>();
+
+    private final String baseUrl;
+    private final String apiBasePath;
+    private final String authToken;
+    private final int timeoutSeconds;
+    private final String testProjectId;
+
+    private ConfigSnapshot(Map<String, String> values, Map<String, String> sources, List<File> files) {
+        this.version = versions.incrementAndGet();
+        this.values = Collections.unmodifiableMap(values);
+        this.sources = Collections.unmodifiableMap(sources);
+        this.files = Collections.unmodifiableList(files);
+        this.baseUrl = getString("base.url");
+        this.apiBasePath = getString("api.base.path");
+        this.authToken = getString("auth.token");
+        this.timeoutSeconds = getInt("timeout.seconds", 30);
+        this.testProjectId = getString("test.project.id");
+    }
+
+    /**
+     * Resolves every layer from the current files, environment and system properties.
+     */
+    public static ConfigSnapshot load() {
+        Map<String, String> values = new LinkedHashMap<>();
+        Map<String, String> sources = new LinkedHashMap<>();
+        List<File> files = new ArrayList<>();
+
+        Properties base = loadResource(CONFIG_FILE, true, files);
+        overlay(values, sources, base, CONFIG_FILE);
+
+        Map<String, String> environment = environmentOverrides();
+        Function<String, String> lookup = key ->
+            System.getProperty(key, environment.getOrDefault(key, values.get(key)));
+
+        String profile = lookup.apply("config.profile");
+        if (profile != null && !profile.isBlank()) {
+            String name = "config-" + profile.trim() + ".properties";
+            overlay(values, sources, loadResource(name, true, files), name);
+        }
+
+        int shardCount = Integer.parseInt(Objects.requireNonNullElse(lookup.apply("shard.count"), "1").trim());
+        if (shardCount > 1) {
+            String name = "config-shard-" + Objects.requireNonNullElse(lookup.apply("shard.index"), "0").trim()
+                + ".properties";
+            overlay(values, sources, loadResource(name, false, files), name);
+        }
+
+        String externalFile = lookup.apply("config.file");
+        if (externalFile != null && !externalFile.isBlank()) {
+            File file = new File(externalFile.trim());
+            overlay(values, sources, loadFile(file), file.getPath());
+            files.add(file);
+        }
+
+        environment.forEach((key, value) -> {
+            values.put(key, value);
+            sources.put(key, "environment");
+        });
+        System.getProperties().stringPropertyNames().forEach(key -> {
+            if (values.containsKey(key) || key.startsWith(NAMESPACE_PREFIX)) {
+                values.put(key, System.getProperty(key));
+                sources.put(key, "system property");
+            }
+        });
+
+        return new ConfigSnapshot(values, sources, files);
+    }
+
+    /**
+     * Increases with every snapshot loaded in this JVM.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getApiBasePath() {
+        return apiBasePath;
+    }
+
+    public String getAuthToken() {
+        return authToken;
+    }
+
+    public int getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    public String getTestProjectId() {
+        return testProjectId;
+    }
+
+    public String getString(String key) {
+        return values.get(key);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Integer value = parse(key, "integer", Integer::valueOf);
+        return value == null ? defaultValue : value;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        Long value = parse(key, "long", Long::valueOf);
+        return value == null ? defaultValue : value;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        Double value = parse(key, "number", Double::valueOf);
+        return value == null ? defaultValue : value;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Boolean value = parse(key, "boolean", Boolean::valueOf);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Which layer the value of {@code key} came from, or {@code null} if unset.
+     */
+    public String getSource(String key) {
+        return sources.get(key);
+    }
+
+    /**
+     * Whether any of {@code keys} has a different value in {@code other}.
+     */
+    public boolean differs(ConfigSnapshot other, String... keys) {
+        for (String key : keys) {
+            if (!Objects.equals(getString(key), other.getString(key))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Keys whose values differ from {@code other}, with this snapshot's values.
+     */
+    public Map<String, String> changesSince(ConfigSnapshot other) {
+        Map<String, String> changes = new TreeMap<>();
+        for (String key : values.keySet()) {
+            if (!Objects.equals(getString(key), other.getString(key))) {
+                changes.put(key, getString(key));
+            }
+        }
+        for (String key : other.values.keySet()) {
+            if (!values.containsKey(key)) {
+                changes.put(key, null);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Layer files that exist on disk; {@link ConfigReader} watches them for changes.
+     */
+    List<File> getFiles() {
+        return files;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T parse(String key, String type, Function<String, T> parser) {
+        String value = values.get(key);
+        if (value == null) {
+            return null;
+        }
+        return (T) parsed.computeIfAbsent(type + ":" + key, k -> {
+            try {
+                return parser.apply(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + type + " '" + value + "' for " + key
+                    + " (from " + sources.get(key) + ")", e);
+            }
+        });
+    }
+
+    private static void overlay(Map<String, String> values, Map<String, String> sources,
+                                Properties properties, String source) {
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, properties.getProperty(key));
+            sources.put(key, source);
+        }
+    }
+
+    /**
+     * {@code YOUTRACK_BASE_URL} becomes {@code base.url}.
+     */
+    private static Map<String, String> environmentOverrides() {
+        Map<String, String> overrides = new LinkedHashMap<>();
+        System.getenv().forEach((name, value) -> {
+            if (name.startsWith(ENV_PREFIX) && name.length() > ENV_PREFIX.length()) {
+                overrides.put(name.substring(ENV_PREFIX.length()).toLowerCase(Locale.ROOT).replace('_', '.'),
+                    value);
+            }
+        });
+        return overrides;
+    }
+
+    private static Properties loadResource(String name, boolean required, List<File> files) {
+        Properties properties = new Properties();
+        URL url = ConfigSnapshot.class.getClassLoader().getResource(name);
+        if (url == null) {
+            if (required) {
+                throw new RuntimeException("Unable to find " + name);
+            }
+            return properties;
+        }
+        try (InputStream input = url.openStream()) {
+            properties.load(input);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load configuration file " + name, e);
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                files.add(new File(url.toURI()));
+            } catch (URISyntaxException e) {
+                // Not watched for changes then
+            }
+        }
+        return properties;
+    }
+
+    private static Properties loadFile(File file) {
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file.toPath())) {
+            properties.load(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load configuration file " + file, e);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,40 @@
+package com.youtrack.api.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ids of every issue created during the run, so they can be deleted at the end
+ * of the suite by {@link IssueCleaner}.
+ */
+public class CreatedIssueRegistry {
+
+    private static final Queue<String> issueIds = new ConcurrentLinkedQueue<>();
+    private static final LongAdder registered = new LongAdder();
+
+    public static void register(String issueId) {
+        if (issueId != null && !issueId.isEmpty()) {
+            issueIds.add(issueId);
+            registered.increment();
+        }
+    }
+
+    /**
+     * Removes and returns all ids registered so far.
+     */
+    public static List<String> drain() {
+        List<String> drained = new ArrayList<>();
+        String issueId;
+        while ((issueId = issueIds.poll()) != null) {
+            drained.add(issueId);
+        }
+        return drained;
+    }
+
+    public static long getRegisteredCount() {
+        return registered.sum();
+    }
+}
@@ -0,0 +1,36 @@
+package com.youtrack.api.utils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Puts each request under a {@link RequestDeadlines} deadline. A request
+ * aborted at its deadline fails with a message naming the request and the
+ * limit instead of the bare socket error. Streamed bodies (see
+ * {@link StreamingJson}) are read after this filter returns and are only
+ * covered by the read timeout.
+ */
+public class DeadlineFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        RequestDeadlines.Call call = RequestDeadlines.begin(requestSpec.getMethod(),
+            requestSpec.getUserDefinedPath());
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } catch (Exception e) {
+            // HttpClient's IOException reaches here undeclared
+            if (call.isExpired()) {
+                throw new IllegalStateException(call.describeTimeout(), e);
+            }
+            throw e;
+        } finally {
+            RequestDeadlines.end(call);
+        }
+    }
+}
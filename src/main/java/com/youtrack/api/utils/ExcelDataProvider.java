@@ -5,11 +5,36 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 public class ExcelDataProvider {
 
+    // Parts of the TestDataCache key, one per parser: the DOM and the event model differ on
+    // blank rows, trailing empty cells and shared formulas. Bump when that parser's rows change.
+    private static final String DOM_CACHE_VARIANT = "xlsx-dom:v1:";
+    private static final String SAX_CACHE_VARIANT = "xlsx-sax:v1:";
+
     public static Object[][] readExcel(String filePath, String sheetName) {
+        return TestDataCache.rows(filePath, DOM_CACHE_VARIANT + sheetName,
+            () -> Arrays.asList(parseWorkbook(filePath, sheetName)).iterator());
+    }
+
+    /**
+     * Lazily reads sheet rows (header skipped) through the XLSX event model, so
+     * large sheets are processed in constant memory. Cell values are mapped the
+     * same way as in {@link #readExcel(String, String)}, but blank rows, trailing
+     * empty cells and shared formulas can come out differently, so the two
+     * methods are cached separately. Rows are served from {@link TestDataCache}
+     * when the file content has been parsed before.
+     */
+    public static Iterator<Object[]> streamExcel(String filePath, String sheetName) {
+        return TestDataCache.stream(filePath, SAX_CACHE_VARIANT + sheetName,
+            () -> new XlsxRowIterator(filePath, sheetName));
+    }
+
+    private static Object[][] parseWorkbook(String filePath, String sheetName) {
         List<Object[]> data = new ArrayList<>();
 
         try (FileInputStream fis = new FileInputStream(filePath);
@@ -0,0 +1,128 @@
+package com.youtrack.api.utils;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the YouTrack {@code fields} query parameter from the properties a POJO
+ * maps, e.g. {@code id,summary,description,project(id,name,shortName),
+ * customFields(name,value(name,id,login,minutes,presentation))} for
+ * {@code Issue}, so a response carries only what is deserialized.
+ * {@link #of(Class, String...)} narrows it to the top-level properties a call
+ * site actually reads.
+ *
+ * Properties are taken from the shared Jackson configuration, so
+ * {@code @JsonProperty} names and {@code @JsonIgnore} are honoured. Nested POJOs
+ * and collections of POJOs become sub-projections. A property declared as
+ * {@code Object} is projected with the union of the classes listed in its
+ * {@code @JsonSubTypes}, since YouTrack returns only {@code $type} for an
+ * entity requested without sub-fields. {@code $type} itself is left out
+ * because YouTrack always returns it. Maps, other {@code Object} properties
+ * and cyclic references are requested without a sub-projection. Results are
+ * cached per class and property list.
+ */
+public class FieldsProjection {
+
+    private static final Map<String, String> cache = new ConcurrentHashMap<>();
+
+    public static String of(Class<?> type) {
+        return of(type, new String[0]);
+    }
+
+    /**
+     * Projection of only the given top-level properties of {@code type}, each
+     * with its full sub-projection; all of them when none are given.
+     */
+    public static String of(Class<?> type, String... properties) {
+        return cache.computeIfAbsent(type.getName() + ":" + String.join(",", properties),
+            key -> build(type, properties));
+    }
+
+    private static String build(Class<?> type, String[] properties) {
+        DeserializationConfig config = JsonSupport.mapper().getDeserializationConfig();
+        Set<String> only = new HashSet<>(Arrays.asList(properties));
+        Set<String> found = new HashSet<>();
+        StringJoiner fields = new StringJoiner(",");
+        for (Map.Entry<String, String> field : project(config, config.constructType(type), new HashSet<>()).entrySet()) {
+            if (only.isEmpty() || only.contains(field.getKey())) {
+                found.add(field.getKey());
+                fields.add(field.getValue());
+            }
+        }
+        only.removeAll(found);
+        if (!only.isEmpty()) {
+            throw new IllegalArgumentException("Not mapped by " + type.getName() + ": " + only);
+        }
+        if (fields.length() == 0) {
+            throw new IllegalArgumentException("No JSON properties mapped by " + type.getName());
+        }
+        return fields.toString();
+    }
+
+    /**
+     * Projection of each property of {@code type}, keyed by property name.
+     */
+    private static Map<String, String> project(DeserializationConfig config, JavaType type, Set<Class<?>> path) {
+        path.add(type.getRawClass());
+        BeanDescription description = config.introspect(type);
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (!property.couldDeserialize() || property.getName().startsWith("$")) {
+                continue;
+            }
+            JavaType propertyType = property.getPrimaryType();
+            if (propertyType.isCollectionLikeType() || propertyType.isArrayType()) {
+                propertyType = propertyType.getContentType();
+            }
+            Set<String> nested = new LinkedHashSet<>();
+            for (JavaType candidate : candidates(config, property, propertyType)) {
+                if (isPojo(candidate) && !path.contains(candidate.getRawClass())) {
+                    nested.addAll(project(config, candidate, path).values());
+                }
+            }
+            fields.put(property.getName(), nested.isEmpty()
+                ? property.getName() : property.getName() + "(" + String.join(",", nested) + ")");
+        }
+        path.remove(type.getRawClass());
+        return fields;
+    }
+
+    /**
+     * The declared type, or for an {@code Object} property the subtypes its
+     * {@code @JsonSubTypes} lists.
+     */
+    private static List<JavaType> candidates(DeserializationConfig config, BeanPropertyDefinition property,
+                                             JavaType propertyType) {
+        JsonSubTypes subTypes = property.getPrimaryMember() == null
+            ? null : property.getPrimaryMember().getAnnotation(JsonSubTypes.class);
+        if (propertyType.getRawClass() != Object.class || subTypes == null) {
+            return List.of(propertyType);
+        }
+        List<JavaType> types = new ArrayList<>();
+        for (JsonSubTypes.Type subType : subTypes.value()) {
+            types.add(config.constructType(subType.value()));
+        }
+        return types;
+    }
+
+    private static boolean isPojo(JavaType type) {
+        Class<?> raw = type.getRawClass();
+        return !type.isContainerType()
+            && !type.isEnumType()
+            && !raw.isPrimitive()
+            && !raw.getName().startsWith("java.");
+    }
+}
@@ -0,0 +1,233 @@
+package com.youtrack.api.utils;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.internal.RestAssuredResponseImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Shared JDK {@link HttpClient}, used by {@link Http2TransportFilter} with
+ * {@code http.transport=http2} and always by {@link AsyncYouTrackClient}.
+ *
+ * With {@code http.transport=http2} the client prefers HTTP/2, so concurrent
+ * requests to the same host share a few multiplexed connections (and TLS
+ * handshakes) instead of one pooled HTTP/1.1 connection each. HTTPS servers
+ * negotiate HTTP/2 via ALPN; plain-HTTP servers that do not accept the
+ * {@code h2c} upgrade, such as {@link YouTrackStubServer}, are served over
+ * HTTP/1.1 on the same client. Responses are counted per protocol version,
+ * separately for RestAssured requests and for {@link AsyncYouTrackClient}.
+ * Like {@link HttpClientPool} it negotiates gzip/deflate responses unless
+ * {@code http.compression.response=false}; the JDK client leaves decoding to
+ * its caller.
+ */
+public class Http2Transport {
+
+    // Set by HttpClient itself; it rejects them as request headers
+    static final Set<String> RESTRICTED_HEADERS =
+        Set.of("connection", "content-length", "content-type", "expect", "host", "upgrade");
+    private static final Pattern CHARSET = Pattern.compile("charset=([^;\\s]+)", Pattern.CASE_INSENSITIVE);
+
+    private static final boolean enabled =
+        "http2".equalsIgnoreCase(ConfigReader.getProperty("http.transport"));
+
+    private static final LongAdder http2Responses = new LongAdder();
+    private static final LongAdder http1Responses = new LongAdder();
+    private static final LongAdder asyncHttp2Responses = new LongAdder();
+    private static final LongAdder asyncHttp1Responses = new LongAdder();
+    private static final LongAdder retries = new LongAdder();
+    private static final LongAdder fallbacks = new LongAdder();
+
+    private static volatile HttpClient httpClient;
+
+    /**
+     * Whether {@code http.transport=http2} routes RestAssured requests through this client.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static HttpClient client() {
+        HttpClient current = httpClient;
+        if (current == null) {
+            synchronized (Http2Transport.class) {
+                current = httpClient;
+                if (current == null) {
+                    current = HttpClient.newBuilder()
+                        .version(enabled ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofMillis(RequestDeadlines.getConnectTimeoutMillis()))
+                        .build();
+                    httpClient = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Sends the request described by {@code spec} and returns it as a RestAssured
+     * response that behaves like one received over HttpClientPool: the same
+     * config (object mapper), headers and fully read body. 429/503 responses
+     * to idempotent requests are retried through {@link AdaptiveThrottle},
+     * within the request's {@link RequestDeadlines} deadline.
+     */
+    public static Response execute(FilterableRequestSpecification spec) {
+        String method = spec.getMethod();
+        String path = spec.getUserDefinedPath();
+        HttpRequest request = toRequest(spec);
+
+        for (int attempt = 1; ; attempt++) {
+            HttpResponse<byte[]> response = send(request, method, path);
+            countVersion(response.version());
+            request.bodyPublisher().ifPresent(body -> HttpCompression.countSent(Math.max(0, body.contentLength())));
+            HttpCompression.countReceived(response.body().length);
+            if (!AdaptiveThrottle.isEnabled()) {
+                return toResponse(spec, response);
+            }
+            long delayMillis = AdaptiveThrottle.onResponse(method, true, response.statusCode(),
+                response.headers().firstValue("Retry-After").orElse(null), attempt);
+            if (delayMillis < 0
+                    || TimeUnit.MILLISECONDS.toNanos(delayMillis) >= RequestDeadlines.remainingNanos()) {
+                return toResponse(spec, response);
+            }
+            retries.increment();
+            try {
+                TimeUnit.MILLISECONDS.sleep(delayMillis);
+                AdaptiveThrottle.awaitToken();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to retry " + method + " " + path, e);
+            }
+        }
+    }
+
+    static void recordFallback() {
+        fallbacks.increment();
+    }
+
+    public static boolean hasActivity() {
+        return http2Responses.sum() + http1Responses.sum() + fallbacks.sum()
+            + asyncHttp2Responses.sum() + asyncHttp1Responses.sum() > 0;
+    }
+
+    public static String describeStats() {
+        return String.format("transport %s; RestAssured: HTTP/2 responses %d, HTTP/1.1 responses %d, "
+                + "retries %d, sent via HttpClientPool (multipart/form) %d; "
+                + "AsyncYouTrackClient: HTTP/2 responses %d, HTTP/1.1 responses %d",
+            enabled ? "http2" : "apache", http2Responses.sum(), http1Responses.sum(), retries.sum(),
+            fallbacks.sum(), asyncHttp2Responses.sum(), asyncHttp1Responses.sum());
+    }
+
+    /**
+     * Counts a response received by {@link AsyncYouTrackClient}.
+     */
+    static void countAsyncVersion(HttpClient.Version version) {
+        (version == HttpClient.Version.HTTP_2 ? asyncHttp2Responses : asyncHttp1Responses).increment();
+    }
+
+    private static void countVersion(HttpClient.Version version) {
+        (version == HttpClient.Version.HTTP_2 ? http2Responses : http1Responses).increment();
+    }
+
+    private static HttpRequest toRequest(FilterableRequestSpecification spec) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(spec.getURI()));
+        for (Header header : spec.getHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                builder.header(header.getName(), header.getValue());
+            }
+        }
+        if (HttpCompression.isResponseCompressionEnabled()
+                && !spec.getHeaders().hasHeaderWithName("Accept-Encoding")) {
+            builder.header("Accept-Encoding", "gzip,deflate");
+        }
+        Object body = spec.getBody();
+        if (body == null) {
+            return builder.method(spec.getMethod(), HttpRequest.BodyPublishers.noBody()).build();
+        }
+        byte[] bytes = body instanceof byte[]
+            ? (byte[]) body
+            : body.toString().getBytes(charsetOf(spec.getContentType()));
+        if (spec.getContentType() != null) {
+            builder.header("Content-Type", spec.getContentType());
+        }
+        return builder.method(spec.getMethod(), HttpRequest.BodyPublishers.ofByteArray(bytes)).build();
+    }
+
+    /**
+     * Waits for the response no longer than the current request deadline, and
+     * cancels the exchange (freeing its stream) when that runs out.
+     */
+    private static HttpResponse<byte[]> send(HttpRequest request, String method, String path) {
+        CompletableFuture<HttpResponse<byte[]>> future =
+            client().sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        long remaining = Math.min(RequestDeadlines.remainingNanos(),
+            TimeUnit.MILLISECONDS.toNanos(RequestDeadlines.getTotalTimeoutMillis()));
+        try {
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new IllegalStateException(method + " " + path + " aborted after its deadline", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during " + method + " " + path, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw new UncheckedIOException(method + " " + path + " failed", (IOException) e.getCause());
+            }
+            throw new IllegalStateException(method + " " + path + " failed", e.getCause());
+        }
+    }
+
+    private static Response toResponse(FilterableRequestSpecification spec, HttpResponse<byte[]> response) {
+        List<Header> headers = new ArrayList<>();
+        response.headers().map().forEach((name, values) -> {
+            for (String value : values) {
+                headers.add(new Header(name, value));
+            }
+        });
+        ResponseBuilder builder = new ResponseBuilder()
+            .setStatusCode(response.statusCode())
+            .setStatusLine((response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1")
+                + " " + response.statusCode())
+            .setHeaders(new Headers(headers))
+            .setBody(HttpCompression.decode(response.headers().firstValue("Content-Encoding").orElse(null),
+                response.body()));
+        response.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+        Response built = builder.build();
+        // ResponseBuilder installs the default config; .as(Issue.class) needs the spec's object mapper
+        ((RestAssuredResponseImpl) built).setConfig(spec.getConfig());
+        return built;
+    }
+
+    private static Charset charsetOf(String contentType) {
+        if (contentType != null) {
+            Matcher matcher = CHARSET.matcher(contentType);
+            if (matcher.find()) {
+                return Charset.forName(matcher.group(1).replace("\"", ""));
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
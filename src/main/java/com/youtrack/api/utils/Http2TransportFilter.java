@@ -0,0 +1,47 @@
+package com.youtrack.api.utils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Terminal filter that sends requests through {@link Http2Transport} instead of
+ * RestAssured's Apache HttpClient when {@code http.transport=http2}. It must be
+ * the last filter of the spec: it does not call the rest of the chain, so the
+ * filters before it see its response exactly as they would see one from
+ * {@link HttpClientPool}. Multipart and form requests are still sent by
+ * HttpClientPool. With the default {@code http.transport=apache} it only
+ * passes requests on.
+ */
+public class Http2TransportFilter implements Filter {
+
+    private final boolean enabled;
+
+    public Http2TransportFilter() {
+        this(Http2Transport.isEnabled());
+    }
+
+    /**
+     * {@code enabled} overrides {@code http.transport}, e.g. to compare both
+     * transports in one JVM.
+     */
+    public Http2TransportFilter(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!enabled) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        if (!requestSpec.getMultiPartParams().isEmpty() || !requestSpec.getFormParams().isEmpty()) {
+            Http2Transport.recordFallback();
+            return ctx.next(requestSpec, responseSpec);
+        }
+        return Http2Transport.execute(requestSpec);
+    }
+}
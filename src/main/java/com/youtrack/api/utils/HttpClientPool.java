@@ -0,0 +1,355 @@
+package com.youtrack.api.utils;
+
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.ConnectionReuseStrategy;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.AuthenticationStrategy;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.RedirectStrategy;
+import org.apache.http.client.RequestDirector;
+import org.apache.http.client.UserTokenHandler;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.AbstractHttpClient;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.params.HttpParams;
+import org.apache.http.params.SyncBasicHttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.BasicHttpProcessor;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpProcessor;
+import org.apache.http.protocol.HttpRequestExecutor;
+import org.apache.http.util.EntityUtils;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide pooled Apache HttpClient shared by every RestAssured request.
+ *
+ * The client is built with {@link HttpClientBuilder} on a
+ * {@link PoolingHttpClientConnectionManager}. Pool limits, keep-alive, idle
+ * eviction and the connect/read timeouts of {@link RequestDeadlines} come from
+ * {@link ConfigReader} ({@code http.pool.*}); the pool limits follow
+ * configuration reloads. Requests and newly opened connections are counted so
+ * the report can show how many requests reused a pooled connection. gzip/deflate
+ * responses are negotiated unless {@code http.compression.response=false}, and
+ * body bytes are counted in {@link HttpCompression} as they cross the connection.
+ */
+public class HttpClientPool {
+
+    private static final LongAdder requestsExecuted = new LongAdder();
+    private static final LongAdder connectionsOpened = new LongAdder();
+
+    private static volatile PooledHttpClient client;
+
+    static {
+        ConfigReader.addReloadListener(HttpClientPool::resizePool);
+    }
+
+    /**
+     * RestAssured client configuration that always hands out the shared client.
+     */
+    public static HttpClientConfig httpClientConfig() {
+        return HttpClientConfig.httpClientConfig()
+            .httpClientFactory(HttpClientPool::getClient)
+            .reuseHttpClientInstance();
+    }
+
+    public static HttpClient getClient() {
+        PooledHttpClient current = client;
+        if (current == null) {
+            synchronized (HttpClientPool.class) {
+                current = client;
+                if (current == null) {
+                    current = createClient();
+                    client = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public static boolean isInitialized() {
+        return client != null;
+    }
+
+    public static long getRequestsExecuted() {
+        return requestsExecuted.sum();
+    }
+
+    public static long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+
+    public static long getConnectionsReused() {
+        return Math.max(0, getRequestsExecuted() - getConnectionsOpened());
+    }
+
+    public static String describeStats() {
+        long requests = getRequestsExecuted();
+        long opened = getConnectionsOpened();
+        long reused = getConnectionsReused();
+        String line = "Requests: " + requests
+            + ", Connections opened: " + opened
+            + ", Reused: " + reused
+            + String.format(" (%.2f%%)", requests == 0 ? 0.0 : reused * 100.0 / requests);
+
+        PooledHttpClient current = client;
+        if (current != null) {
+            PoolStats stats = current.pool.getTotalStats();
+            line += ", Pool leased/available/max: " + stats.getLeased() + "/"
+                + stats.getAvailable() + "/" + stats.getMax();
+        }
+        return line;
+    }
+
+    public static synchronized void shutdown() {
+        if (client != null) {
+            try {
+                client.delegate.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close the HTTP client: " + e.getMessage());
+            }
+            client = null;
+        }
+    }
+
+    private static void resizePool(ConfigSnapshot previous, ConfigSnapshot config) {
+        PooledHttpClient current = client;
+        if (current != null && config.differs(previous, "http.pool.max.total", "http.pool.max.per.route")) {
+            current.pool.setMaxTotal(config.getInt("http.pool.max.total", 50));
+            current.pool.setDefaultMaxPerRoute(config.getInt("http.pool.max.per.route", 20));
+        }
+    }
+
+    private static PooledHttpClient createClient() {
+        int maxTotal = ConfigReader.getIntProperty("http.pool.max.total", 50);
+        int maxPerRoute = ConfigReader.getIntProperty("http.pool.max.per.route", 20);
+        long keepAliveMillis = TimeUnit.SECONDS.toMillis(
+            ConfigReader.getIntProperty("http.pool.keepalive.seconds", 30));
+        int idleSeconds = ConfigReader.getIntProperty("http.pool.idle.evict.seconds", 30);
+
+        // Counts physical connections as the pool creates them
+        PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager(
+            (route, config) -> {
+                connectionsOpened.increment();
+                return ManagedHttpClientConnectionFactory.INSTANCE.create(route, config);
+            });
+        pool.setMaxTotal(maxTotal);
+        pool.setDefaultMaxPerRoute(maxPerRoute);
+
+        HttpClientBuilder builder = HttpClientBuilder.create()
+            .setConnectionManager(pool)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectTimeout(RequestDeadlines.getConnectTimeoutMillis())
+                .setSocketTimeout(RequestDeadlines.getReadTimeoutMillis())
+                .setConnectionRequestTimeout((int) RequestDeadlines.getTotalTimeoutMillis())
+                .build())
+            .setKeepAliveStrategy((response, context) -> {
+                long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                    .getKeepAliveDuration(response, context);
+                return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMillis) : keepAliveMillis;
+            })
+            // RestAssured ignores cookies by default; keep it that way on the shared client
+            .disableCookieManagement()
+            .addInterceptorFirst((HttpRequestInterceptor) (request, context) -> requestsExecuted.increment())
+            .addInterceptorLast((HttpRequestInterceptor) HttpClientPool::countRequestBody)
+            .addInterceptorFirst((HttpResponseInterceptor) HttpClientPool::detachEmptyEntity)
+            // First, so it sees the body as received, before the decoder wraps it
+            .addInterceptorFirst((HttpResponseInterceptor) HttpClientPool::countResponseBody);
+        if (!HttpCompression.isResponseCompressionEnabled()) {
+            builder.disableContentCompression();
+        }
+        if (idleSeconds > 0) {
+            builder.evictExpiredConnections().evictIdleConnections(idleSeconds, TimeUnit.SECONDS);
+        }
+
+        return new PooledHttpClient(builder.build(), pool);
+    }
+
+    private static void countRequestBody(HttpRequest request, HttpContext context) {
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            if (entity != null && entity.getContentLength() >= 0) {
+                HttpCompression.countSent(entity.getContentLength());
+            }
+        }
+    }
+
+    private static void countResponseBody(HttpResponse response, HttpContext context) {
+        if (response.getEntity() != null) {
+            response.setEntity(new CountingEntity(response.getEntity()));
+        }
+    }
+
+    /**
+     * RestAssured never reads a zero-length body (e.g. of a DELETE), so the
+     * connection would stay leased until the pool runs dry. Swapping it for
+     * a non-streaming entity lets HttpClient release the connection at once.
+     */
+    private static void detachEmptyEntity(HttpResponse response, HttpContext context)
+            throws IOException {
+        HttpEntity entity = response.getEntity();
+        if (entity != null && entity.isStreaming() && entity.getContentLength() == 0) {
+            EntityUtils.consume(entity);
+            ByteArrayEntity empty = new ByteArrayEntity(new byte[0]);
+            empty.setContentType(entity.getContentType());
+            response.setEntity(empty);
+        }
+    }
+
+    /**
+     * Counts the bytes read from the connection in {@link HttpCompression}.
+     */
+    private static class CountingEntity extends HttpEntityWrapper {
+
+        CountingEntity(HttpEntity entity) {
+            super(entity);
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(super.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0) {
+                        HttpCompression.countReceived(1);
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = super.read(buffer, offset, length);
+                    if (read > 0) {
+                        HttpCompression.countReceived(read);
+                    }
+                    return read;
+                }
+            };
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            try (InputStream in = getContent()) {
+                in.transferTo(out);
+            }
+        }
+    }
+
+    /**
+     * RestAssured 5 casts the client from {@link HttpClientConfig#httpClientFactory}
+     * to the legacy {@link AbstractHttpClient}, so the builder-made client is handed
+     * over in this adapter. Every request is sent through {@code delegate}; the
+     * settings RestAssured writes to the adapter (params, credentials and its
+     * gzip/deflate interceptors, which it removes and re-adds before every
+     * request) are not used, and interceptor changes are ignored so that churn
+     * does not contend on the shared client.
+     */
+    @SuppressWarnings("deprecation")
+    private static class PooledHttpClient extends AbstractHttpClient {
+
+        private final CloseableHttpClient delegate;
+        private final PoolingHttpClientConnectionManager pool;
+
+        PooledHttpClient(CloseableHttpClient delegate, PoolingHttpClientConnectionManager pool) {
+            super(null, null);
+            this.delegate = delegate;
+            this.pool = pool;
+        }
+
+        @Override
+        protected HttpParams createHttpParams() {
+            return new SyncBasicHttpParams();
+        }
+
+        @Override
+        protected BasicHttpProcessor createHttpProcessor() {
+            return new BasicHttpProcessor();
+        }
+
+        /**
+         * Wraps every request in the {@link AdaptiveThrottle} retry loop for
+         * 429/503 and attaches each attempt to its {@link RequestDeadlines}
+         * deadline. It runs below RestAssured's filters, whose chain can only
+         * be walked once per request. A retry that would start after the
+         * deadline is not made; the 429/503 is returned instead.
+         */
+        @Override
+        protected RequestDirector createClientRequestDirector(
+                HttpRequestExecutor requestExec, ClientConnectionManager conman,
+                ConnectionReuseStrategy reustrat, ConnectionKeepAliveStrategy kastrat,
+                HttpRoutePlanner rouplan, HttpProcessor httpProcessor,
+                HttpRequestRetryHandler retryHandler, RedirectStrategy redirectStrategy,
+                AuthenticationStrategy targetAuthStrategy, AuthenticationStrategy proxyAuthStrategy,
+                UserTokenHandler userTokenHandler, HttpParams params) {
+            return (target, request, context) -> {
+                for (int attempt = 1; ; attempt++) {
+                    RequestDeadlines.attach(request);
+                    HttpResponse response = delegate.execute(target, request, context);
+                    if (!AdaptiveThrottle.isEnabled()) {
+                        return response;
+                    }
+                    long delayMillis = AdaptiveThrottle.onResponse(request, response, attempt);
+                    if (delayMillis < 0
+                            || TimeUnit.MILLISECONDS.toNanos(delayMillis) >= RequestDeadlines.remainingNanos()) {
+                        return response;
+                    }
+                    EntityUtils.consume(response.getEntity());
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(delayMillis);
+                        AdaptiveThrottle.awaitToken();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while waiting to retry "
+                            + request.getRequestLine());
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void addRequestInterceptor(HttpRequestInterceptor itcp) {
+        }
+
+        @Override
+        public void addRequestInterceptor(HttpRequestInterceptor itcp, int index) {
+        }
+
+        @Override
+        public void removeRequestInterceptorByClass(Class<? extends HttpRequestInterceptor> clazz) {
+        }
+
+        @Override
+        public void addResponseInterceptor(HttpResponseInterceptor itcp) {
+        }
+
+        @Override
+        public void addResponseInterceptor(HttpResponseInterceptor itcp, int index) {
+        }
+
+        @Override
+        public void removeResponseInterceptorByClass(Class<? extends HttpResponseInterceptor> clazz) {
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.youtrack.api.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression of request and response bodies, and bytes-on-the-wire counters
+ * per endpoint:
+ * <ul>
+ *   <li>{@code http.compression.response} (default true) sends
+ *       {@code Accept-Encoding: gzip,deflate}; compressed responses are
+ *       decompressed while the body is read, by {@link HttpClientPool}'s
+ *       interceptors or by {@link Http2Transport};</li>
+ *   <li>{@code http.compression.request} (default false) gzips request bodies
+ *       of at least {@code http.compression.request.min.bytes} bytes and sends
+ *       them with {@code Content-Encoding: gzip}, which the server must
+ *       accept;</li>
+ *   <li>every request through {@link CompressionFilter} is counted under its
+ *       endpoint template with the body bytes sent and received on the wire
+ *       and after decompression. Bodies read later through
+ *       {@link StreamingJson} are not counted.</li>
+ * </ul>
+ */
+public class HttpCompression {
+
+    private static final boolean responseCompression =
+        ConfigReader.getBooleanProperty("http.compression.response", true);
+    private static final boolean requestCompression =
+        ConfigReader.getBooleanProperty("http.compression.request", false);
+    private static final int requestMinBytes =
+        ConfigReader.getIntProperty("http.compression.request.min.bytes", 1024);
+
+    private static final ThreadLocal<Exchange> current = new ThreadLocal<>();
+    private static final Map<String, EndpointBytes> endpoints = new ConcurrentHashMap<>();
+
+    public static boolean isResponseCompressionEnabled() {
+        return responseCompression;
+    }
+
+    public static boolean isRequestCompressionEnabled() {
+        return requestCompression;
+    }
+
+    /**
+     * Whether a request body of {@code length} bytes is sent gzipped.
+     */
+    public static boolean shouldCompressRequest(String method, int length) {
+        return requestCompression && length >= requestMinBytes
+            && ("POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method));
+    }
+
+    public static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to gzip request body", e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Decompresses a body received with the given {@code Content-Encoding};
+     * other encodings (and none) are returned as is.
+     */
+    public static byte[] decode(String contentEncoding, byte[] body) {
+        if (contentEncoding == null || body.length == 0) {
+            return body;
+        }
+        String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        try {
+            if ("gzip".equals(encoding) || "x-gzip".equals(encoding)) {
+                return readAll(new GZIPInputStream(new ByteArrayInputStream(body)));
+            }
+            if ("deflate".equals(encoding)) {
+                return readAll(new InflaterInputStream(new ByteArrayInputStream(body)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode " + encoding + " response body", e);
+        }
+        return body;
+    }
+
+    /**
+     * Starts counting the bytes of a request made on this thread; must be
+     * paired with {@link #end(Exchange, int, int)}.
+     */
+    public static Exchange begin(String endpoint) {
+        Exchange exchange = new Exchange(endpoint, current.get());
+        current.set(exchange);
+        return exchange;
+    }
+
+    /**
+     * @param plainRequestBytes size of the request body before it was gzipped,
+     *                          or -1 when it was sent uncompressed
+     * @param decodedBytes response body size after decompression, or -1 when
+     *                     the body was not read
+     */
+    public static void end(Exchange exchange, int plainRequestBytes, int decodedBytes) {
+        if (exchange.previous != null) {
+            current.set(exchange.previous);
+        } else {
+            current.remove();
+        }
+        // 429/503 retries send the body again
+        long sentPlain = plainRequestBytes < 0
+            ? exchange.sent : (long) plainRequestBytes * Math.max(1, exchange.bodiesSent);
+        record(exchange.endpoint, exchange.sent, sentPlain, exchange.received,
+            decodedBytes < 0 ? exchange.received : decodedBytes);
+    }
+
+    /**
+     * Counts a request body of {@code wireBytes} bytes sent on this thread.
+     */
+    static void countSent(long wireBytes) {
+        Exchange exchange = current.get();
+        if (exchange != null) {
+            exchange.sent += wireBytes;
+            exchange.bodiesSent++;
+        }
+    }
+
+    /**
+     * Counts response body bytes read from the connection on this thread,
+     * before decompression.
+     */
+    static void countReceived(long wireBytes) {
+        Exchange exchange = current.get();
+        if (exchange != null) {
+            exchange.received += wireBytes;
+        }
+    }
+
+    /**
+     * Records a request made outside RestAssured, e.g. by {@link AsyncYouTrackClient}.
+     */
+    public static void record(String endpoint, long sentWire, long sentPlain, long receivedWire,
+                              long receivedDecoded) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointBytes())
+            .record(sentWire, sentPlain, receivedWire, receivedDecoded);
+    }
+
+    public static boolean hasActivity() {
+        return !endpoints.isEmpty();
+    }
+
+    /**
+     * Drops the counters of one endpoint.
+     */
+    static void forget(String endpoint) {
+        endpoints.remove(endpoint);
+    }
+
+    /**
+     * Multi-line table of body bytes per endpoint: sent and received on the
+     * wire and uncompressed, with the share saved by compression.
+     */
+    public static String describe() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%n%-32s %8s %10s %10s %10s %10s %7s",
+            "Endpoint", "Count", "Sent KB", "Raw KB", "Recv KB", "Decoded KB", "Saved"));
+        long totalWire = 0;
+        long totalPlain = 0;
+        for (Map.Entry<String, EndpointBytes> entry : new TreeMap<>(endpoints).entrySet()) {
+            EndpointBytes bytes = entry.getValue();
+            long wire = bytes.sentWire.sum() + bytes.receivedWire.sum();
+            long plain = bytes.sentPlain.sum() + bytes.receivedDecoded.sum();
+            totalWire += wire;
+            totalPlain += plain;
+            table.append(String.format("%n%-32s %8d %10.1f %10.1f %10.1f %10.1f %6.1f%%",
+                entry.getKey(),
+                bytes.count.sum(),
+                bytes.sentWire.sum() / 1024.0,
+                bytes.sentPlain.sum() / 1024.0,
+                bytes.receivedWire.sum() / 1024.0,
+                bytes.receivedDecoded.sum() / 1024.0,
+                saved(wire, plain)));
+        }
+        table.append(String.format("%nTotal on the wire %.1f KB of %.1f KB (%.1f%% saved), "
+                + "response compression %s, request compression %s",
+            totalWire / 1024.0, totalPlain / 1024.0, saved(totalWire, totalPlain),
+            responseCompression ? "on" : "off",
+            requestCompression ? "on (>= " + requestMinBytes + " bytes)" : "off"));
+        return table.toString();
+    }
+
+    private static double saved(long wire, long plain) {
+        return plain <= 0 ? 0 : Math.max(0, plain - wire) * 100.0 / plain;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (InputStream stream = in) {
+            return stream.readAllBytes();
+        }
+    }
+
+    /**
+     * Byte counts of one request; only touched by the thread that made it.
+     */
+    public static class Exchange {
+
+        private final String endpoint;
+        private final Exchange previous;
+        private long sent;
+        private int bodiesSent;
+        private long received;
+
+        Exchange(String endpoint, Exchange previous) {
+            this.endpoint = endpoint;
+            this.previous = previous;
+        }
+    }
+
+    private static class EndpointBytes {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sentWire = new LongAdder();
+        private final LongAdder sentPlain = new LongAdder();
+        private final LongAdder receivedWire = new LongAdder();
+        private final LongAdder receivedDecoded = new LongAdder();
+
+        void record(long sentWireBytes, long sentPlainBytes, long receivedWireBytes, long receivedDecodedBytes) {
+            count.increment();
+            sentWire.add(sentWireBytes);
+            sentPlain.add(sentPlainBytes);
+            receivedWire.add(receivedWireBytes);
+            receivedDecoded.add(receivedDecodedBytes);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.youtrack.api.utils;
+
+import io.restassured.specification.RequestSpecification;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import static io.restassured.RestAssured.given;
+
+/**
+ * Deletes issues through {@code DELETE /issues/{id}} with a fixed number of
+ * worker threads ({@code cleanup.parallelism}), a shared request rate limit
+ * ({@code cleanup.rate.per.second}). Deletes have no retries of their own:
+ * a 429/503 is retried by {@link AdaptiveThrottle} ({@code retry.count}) like
+ * every other request on the spec, anything else counts as failed. Issues
+ * that are already gone (404) count as deleted. Deletes are exempt from the suite
+ * deadline of {@link RequestDeadlines}: a run that hit it still removes what
+ * it created.
+ */
+public class IssueCleaner {
+
+    private final RequestSpecification requestSpec;
+    private final int parallelism;
+    private final long intervalNanos;
+    private final AtomicLong nextSlotNanos = new AtomicLong(System.nanoTime());
+
+    public IssueCleaner(RequestSpecification requestSpec, int parallelism, double ratePerSecond) {
+        this.requestSpec = requestSpec;
+        this.parallelism = Math.max(1, parallelism);
+        this.intervalNanos = ratePerSecond > 0 ? (long) (1_000_000_000L / ratePerSecond) : 0;
+    }
+
+    public static IssueCleaner fromConfig(RequestSpecification requestSpec) {
+        return new IssueCleaner(requestSpec,
+            ConfigReader.getIntProperty("cleanup.parallelism", 8),
+            ConfigReader.getDoubleProperty("cleanup.rate.per.second", 50.0));
+    }
+
+    public CleanupResult deleteAll(List<String> issueIds) {
+        Queue<String> pending = new ConcurrentLinkedQueue<>(issueIds);
+        LongAdder deleted = new LongAdder();
+        LongAdder failed = new LongAdder();
+        long start = System.nanoTime();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < Math.min(parallelism, issueIds.size()); i++) {
+            Thread worker = new Thread(() -> RequestDeadlines.outsideSuiteDeadline(() -> {
+                String issueId;
+                while ((issueId = pending.poll()) != null) {
+                    if (delete(issueId)) {
+                        deleted.increment();
+                    } else {
+                        failed.increment();
+                    }
+                }
+                return null;
+            }), "issue-cleanup-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        return new CleanupResult(issueIds.size(), deleted.sum(), failed.sum(),
+            System.nanoTime() - start);
+    }
+
+    private boolean delete(String issueId) {
+        acquireSlot();
+
+        int status;
+        try {
+            status = given()
+                .spec(requestSpec)
+            .when()
+                .delete("/issues/" + issueId)
+            .then()
+                .extract()
+                .statusCode();
+        } catch (RuntimeException e) {
+            System.err.println("Failed to delete issue " + issueId + ": " + e.getMessage());
+            return false;
+        }
+
+        if (status == 200 || status == 204 || status == 404) {
+            return true;
+        }
+        System.err.println("Failed to delete issue " + issueId + " (status " + status + ")");
+        return false;
+    }
+
+    /**
+     * Reserves the next request slot of the shared rate limit and waits for it.
+     */
+    private void acquireSlot() {
+        if (intervalNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long slot = nextSlotNanos.getAndAccumulate(now,
+            (next, current) -> Math.max(next, current) + intervalNanos);
+        long wait = Math.max(slot, now) - now;
+        if (wait > 0) {
+            sleep(TimeUnit.NANOSECONDS.toMillis(wait));
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class CleanupResult {
+
+        private final long requested;
+        private final long deleted;
+        private final long failed;
+        private final long elapsedNanos;
+
+        CleanupResult(long requested, long deleted, long failed, long elapsedNanos) {
+            this.requested = requested;
+            this.deleted = deleted;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getDeleted() {
+            return deleted;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public String describe() {
+            return String.format("requested %d, deleted %d, failed %d, took %d ms",
+                requested, deleted, failed, elapsedNanos / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.youtrack.api.utils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.IOException;
+
+/**
+ * Registers the id of every issue created through {@code POST /issues} in
+ * {@link CreatedIssueRegistry}, so tests don't have to track them.
+ *
+ * The id is read with Jackson rather than {@code response.jsonPath()}, which
+ * compiles a Groovy script on every call.
+ */
+public class IssueRegistrationFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+
+        if (response.getStatusCode() == 200
+                && "POST /issues".equals(LatencyStats.endpointKey(
+                    requestSpec.getMethod(), requestSpec.getUserDefinedPath()))) {
+            try {
+                CreatedIssueRegistry.register(
+                    JsonSupport.mapper().readTree(response.asByteArray()).path("id").asText(null));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Could not register created issue: " + e.getMessage());
+            }
+        }
+        return response;
+    }
+}
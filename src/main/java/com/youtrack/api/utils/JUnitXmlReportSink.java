@@ -0,0 +1,180 @@
+package com.youtrack.api.utils;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JUnit-style XML. Each {@code <testcase>} is appended to
+ * {@code <file>.part} as soon as the result arrives, so results survive a
+ * crashed run. At the end the file is written with the {@code tests},
+ * {@code failures}, {@code skipped} and {@code time} attributes on
+ * {@code <testsuite>}, which are only known then, followed by the test cases
+ * and the report sections in {@code <system-out>}. Numbers use
+ * {@link Locale#ROOT}: CI parsers reject {@code time="0,092"}.
+ */
+public class JUnitXmlReportSink implements ReportSink {
+
+    private final String fileName;
+    private final File partFile;
+    private OutputStream out;
+    private XMLStreamWriter xml;
+    private String suiteName;
+    private LocalDateTime startTime;
+    private int tests;
+    private int failures;
+    private int skipped;
+
+    public JUnitXmlReportSink(String fileName) {
+        this.fileName = fileName;
+        this.partFile = new File(fileName + ".part");
+    }
+
+    @Override
+    public void start(String suiteName, LocalDateTime startTime) throws IOException {
+        this.suiteName = suiteName;
+        this.startTime = startTime;
+        out = new BufferedOutputStream(new FileOutputStream(partFile));
+        try {
+            xml = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void record(TestResultRecord record) throws IOException {
+        tests++;
+        try {
+            xml.writeCharacters("  ");
+            xml.writeStartElement("testcase");
+            xml.writeAttribute("classname", record.getQualifiedClassName());
+            xml.writeAttribute("name", record.getMethodName());
+            xml.writeAttribute("time", seconds(record.getDurationMillis()));
+
+            if ("FAILED".equals(record.getStatus())) {
+                failures++;
+                xml.writeStartElement("failure");
+                if (record.getFailureMessage() != null) {
+                    xml.writeAttribute("message", record.getFailureMessage());
+                }
+                if (record.getStackTrace() != null) {
+                    xml.writeCharacters(record.getStackTrace());
+                }
+                xml.writeEndElement();
+            } else if ("SKIPPED".equals(record.getStatus())) {
+                skipped++;
+                xml.writeEmptyElement("skipped");
+            }
+
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        try {
+            xml.flush();
+            out.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void finish(ReportSummary summary) throws IOException {
+        closePart();
+
+        StringBuilder text = new StringBuilder()
+            .append("Total Tests: ").append(summary.getTotal()).append('\n')
+            .append("Passed: ").append(summary.getPassed()).append('\n')
+            .append("Failed: ").append(summary.getFailed()).append('\n')
+            .append("Skipped: ").append(summary.getSkipped()).append('\n');
+        for (Map.Entry<String, String> section : summary.getSections().entrySet()) {
+            text.append(section.getKey()).append(": ").append(section.getValue()).append('\n');
+        }
+
+        try (OutputStream file = new BufferedOutputStream(new FileOutputStream(fileName))) {
+            XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(file, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeCharacters("\n");
+            writer.writeStartElement("testsuite");
+            writer.writeAttribute("name", suiteName);
+            writer.writeAttribute("tests", String.valueOf(tests));
+            writer.writeAttribute("failures", String.valueOf(failures));
+            writer.writeAttribute("errors", "0");
+            writer.writeAttribute("skipped", String.valueOf(skipped));
+            writer.writeAttribute("time",
+                seconds(Duration.between(startTime, summary.getEndTime()).toMillis()));
+            writer.writeAttribute("timestamp", startTime.withNano(0).toString());
+            writer.writeAttribute("hostname", hostName());
+            writer.writeCharacters("\n");
+            writer.flush();
+            try (InputStream testCases = new FileInputStream(partFile)) {
+                testCases.transferTo(file);
+            }
+
+            writer.writeCharacters("  ");
+            writer.writeStartElement("system-out");
+            writer.writeCData(text.toString());
+            writer.writeEndElement();
+            writer.writeCharacters("\n");
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+        if (!partFile.delete()) {
+            System.err.println("Failed to delete " + partFile);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closePart();
+    }
+
+    private void closePart() throws IOException {
+        try {
+            if (xml != null) {
+                xml.close();
+                xml = null;
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+        }
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", millis / 1000.0);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "localhost";
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.youtrack.api.utils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One JSON object per line: a {@code start} event, a {@code test} event per
+ * result as it arrives and a final {@code summary} event. Lines are flushed
+ * with every writer batch so the file can be tailed during the run.
+ */
+public class JsonLinesReportSink implements ReportSink {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final String fileName;
+    private JsonGenerator json;
+
+    public JsonLinesReportSink(String fileName) {
+        this.fileName = fileName;
+    }
+
+    @Override
+    public void start(String suiteName, LocalDateTime startTime) throws IOException {
+        json = JSON_FACTORY.createGenerator(
+            new BufferedOutputStream(new FileOutputStream(fileName)), JsonEncoding.UTF8);
+        json.setRootValueSeparator(null);
+
+        json.writeStartObject();
+        json.writeStringField("type", "start");
+        json.writeStringField("suite", suiteName);
+        json.writeStringField("startTime", startTime.toString());
+        json.writeEndObject();
+        newLine();
+        json.flush();
+    }
+
+    @Override
+    public void record(TestResultRecord record) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", "test");
+        json.writeStringField("suite", record.getSuiteName());
+        json.writeStringField("class", record.getQualifiedClassName());
+        json.writeStringField("method", record.getMethodName());
+        json.writeStringField("status", record.getStatus());
+        json.writeNumberField("startMillis", record.getStartMillis());
+        json.writeNumberField("endMillis", record.getEndMillis());
+        json.writeNumberField("durationMillis", record.getDurationMillis());
+        if (record.getDescription() != null) {
+            json.writeStringField("description", record.getDescription());
+        }
+        if (record.getFailureMessage() != null) {
+            json.writeStringField("failure", record.getFailureMessage());
+        }
+        if (record.getStackTrace() != null) {
+            json.writeStringField("stackTrace", record.getStackTrace());
+        }
+        json.writeEndObject();
+        newLine();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        json.flush();
+    }
+
+    @Override
+    public void finish(ReportSummary summary) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", "summary");
+        json.writeNumberField("total", summary.getTotal());
+        json.writeNumberField("passed", summary.getPassed());
+        json.writeNumberField("failed", summary.getFailed());
+        json.writeNumberField("skipped", summary.getSkipped());
+        json.writeStringField("endTime", summary.getEndTime().toString());
+        json.writeObjectFieldStart("sections");
+        for (Map.Entry<String, String> section : summary.getSections().entrySet()) {
+            json.writeStringField(section.getKey(), section.getValue());
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+        newLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.close();
+        }
+    }
+
+    private void newLine() throws IOException {
+        json.writeRaw('\n');
+    }
+}
@@ -0,0 +1,94 @@
+package com.youtrack.api.utils;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The one Jackson configuration used for request and response bodies.
+ *
+ * The mapper is built once with the Blackbird module, which replaces reflective
+ * getter/setter calls with generated lambdas. Null properties are written, as
+ * RestAssured's default mapper did (TC_NEG_001 sends {@code "project": null}),
+ * and unknown properties in responses are ignored. Readers and writers are
+ * cached per type, so a request does not repeat the serializer lookups.
+ * {@link #restAssuredMapper()} plugs the same configuration into RestAssured
+ * for {@code .body(pojo)} and {@code .as(Pojo.class)}.
+ */
+public class JsonSupport {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+        .addModule(new BlackbirdModule())
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+        .build();
+
+    private static final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    private static final io.restassured.mapper.ObjectMapper REST_ASSURED_MAPPER =
+        new io.restassured.mapper.ObjectMapper() {
+            @Override
+            public Object serialize(ObjectMapperSerializationContext context) {
+                // RestAssured encodes a byte[] result as a JSON array, so hand it a String
+                return toJson(context.getObjectToSerialize());
+            }
+
+            @Override
+            public Object deserialize(ObjectMapperDeserializationContext context) {
+                return fromBytes(context.getDataToDeserialize().asByteArray(), context.getType());
+            }
+        };
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    public static ObjectReader reader(Type type) {
+        return readers.computeIfAbsent(MAPPER.constructType(type), MAPPER::readerFor);
+    }
+
+    public static ObjectWriter writer(Class<?> type) {
+        return writers.computeIfAbsent(type, MAPPER::writerFor);
+    }
+
+    public static io.restassured.mapper.ObjectMapper restAssuredMapper() {
+        return REST_ASSURED_MAPPER;
+    }
+
+    public static byte[] toBytes(Object value) {
+        try {
+            return writer(value.getClass()).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    public static String toJson(Object value) {
+        try {
+            return writer(value.getClass()).writeValueAsString(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    public static <T> T fromBytes(byte[] json, Type type) {
+        try {
+            return reader(type).readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to deserialize " + type.getTypeName(), e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.youtrack.api.utils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Records the latency of every request into {@link LatencyStats} under its
+ * endpoint template. Responses with status 5xx, and requests that throw, are
+ * counted as errors.
+ */
+public class LatencyRecordingFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String endpoint = LatencyStats.endpointKey(requestSpec.getMethod(),
+            requestSpec.getUserDefinedPath());
+        long start = System.nanoTime();
+        boolean error = true;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            error = response.getStatusCode() >= 500;
+            return response;
+        } finally {
+            LatencyStats.record(endpoint, start, System.nanoTime(), error);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.youtrack.api.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Process-wide per-endpoint latency statistics, keyed by
+ * {@code "<METHOD> <path template>"}, e.g. {@code "GET /issues/{id}"}.
+ */
+public class LatencyStats {
+
+    private static final Pattern ID_SEGMENT = Pattern.compile(".*\\d.*");
+
+    private static final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public static void record(String endpoint, long startNanos, long endNanos, boolean error) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointStats())
+            .record(startNanos, endNanos, error);
+    }
+
+    public static EndpointStats get(String endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    /**
+     * Snapshot of all endpoints, sorted by key.
+     */
+    public static Map<String, EndpointStats> getAll() {
+        return new TreeMap<>(endpoints);
+    }
+
+    public static boolean isEmpty() {
+        return endpoints.isEmpty();
+    }
+
+    public static void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * Builds the endpoint key, replacing path segments that contain digits
+     * (issue and project ids such as {@code 2-15} or {@code ABC-123}) with
+     * {@code {id}} so that all calls to the same resource share one histogram.
+     */
+    public static String endpointKey(String method, String path) {
+        StringBuilder template = new StringBuilder(method).append(' ');
+        String cleanPath = path == null ? "" : path;
+        int query = cleanPath.indexOf('?');
+        if (query >= 0) {
+            cleanPath = cleanPath.substring(0, query);
+        }
+        if (cleanPath.isEmpty()) {
+            return template.append('/').toString();
+        }
+        for (String segment : cleanPath.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            template.append('/').append(ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+        }
+        if (template.charAt(template.length() - 1) == ' ') {
+            template.append('/');
+        }
+        return template.toString();
+    }
+
+    /**
+     * Writes every endpoint's histogram, error count and time window to a JSON
+     * file that {@link #mergeSnapshot} can add to another process's statistics,
+     * e.g. to combine test shards. Times are stored as epoch milliseconds.
+     */
+    public static void writeSnapshot(File file) throws IOException {
+        ObjectNode root = JsonSupport.mapper().createObjectNode();
+        ObjectNode endpointsNode = root.putObject("endpoints");
+        for (Map.Entry<String, EndpointStats> entry : getAll().entrySet()) {
+            EndpointStats stats = entry.getValue();
+            LatencyHistogram histogram = stats.getHistogram();
+            ObjectNode node = endpointsNode.putObject(entry.getKey());
+            node.put("errors", stats.getErrorCount());
+            node.put("firstStartMillis", toEpochMillis(stats.firstStartNanos.get()));
+            node.put("lastEndMillis", toEpochMillis(stats.lastEndNanos.get()));
+            node.put("sum", histogram.getSum());
+            node.put("max", histogram.getMax());
+            ObjectNode buckets = node.putObject("buckets");
+            long[] counts = histogram.getCounts();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    buckets.put(Integer.toString(i), counts[i]);
+                }
+            }
+        }
+        JsonSupport.mapper().writeValue(file, root);
+    }
+
+    /**
+     * Adds the endpoints from a {@link #writeSnapshot} file to this process's
+     * statistics.
+     */
+    public static void mergeSnapshot(File file) throws IOException {
+        JsonNode root = JsonSupport.mapper().readTree(file);
+        Iterator<Map.Entry<String, JsonNode>> fields = root.path("endpoints").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            JsonNode node = entry.getValue();
+            long[] counts = new long[LatencyHistogram.BUCKET_COUNT];
+            Iterator<Map.Entry<String, JsonNode>> buckets = node.path("buckets").fields();
+            while (buckets.hasNext()) {
+                Map.Entry<String, JsonNode> bucket = buckets.next();
+                counts[Integer.parseInt(bucket.getKey())] = bucket.getValue().asLong();
+            }
+            endpoints.computeIfAbsent(entry.getKey(), key -> new EndpointStats()).merge(
+                LatencyHistogram.fromCounts(counts, node.path("sum").asLong(), node.path("max").asLong()),
+                node.path("errors").asLong(),
+                fromEpochMillis(node.path("firstStartMillis").asLong()),
+                fromEpochMillis(node.path("lastEndMillis").asLong()));
+        }
+    }
+
+    private static long toEpochMillis(long nanos) {
+        return System.currentTimeMillis() - (System.nanoTime() - nanos) / 1_000_000;
+    }
+
+    private static long fromEpochMillis(long millis) {
+        return System.nanoTime() - (System.currentTimeMillis() - millis) * 1_000_000;
+    }
+
+    /**
+     * Multi-line table with count, errors, throughput and latency percentiles
+     * (milliseconds) for every endpoint.
+     */
+    public static String describe() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%n%-32s %8s %7s %9s %9s %9s %9s %9s",
+            "Endpoint", "Count", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "Max ms"));
+        for (Map.Entry<String, EndpointStats> entry : getAll().entrySet()) {
+            EndpointStats stats = entry.getValue();
+            LatencyHistogram histogram = stats.getHistogram();
+            table.append(String.format("%n%-32s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f",
+                entry.getKey(),
+                histogram.getCount(),
+                stats.getErrorCount(),
+                stats.getThroughputPerSecond(),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMax() / 1000.0));
+        }
+        return table.toString();
+    }
+
+    public static class EndpointStats {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final AtomicLong firstStartNanos = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong lastEndNanos = new AtomicLong(Long.MIN_VALUE);
+
+        void record(long startNanos, long endNanos, boolean error) {
+            histogram.record((endNanos - startNanos) / 1000);
+            if (error) {
+                errors.increment();
+            }
+            firstStartNanos.accumulateAndGet(startNanos, Math::min);
+            lastEndNanos.accumulateAndGet(endNanos, Math::max);
+        }
+
+        void merge(LatencyHistogram other, long errorCount, long startNanos, long endNanos) {
+            histogram.add(other);
+            errors.add(errorCount);
+            firstStartNanos.accumulateAndGet(startNanos, Math::min);
+            lastEndNanos.accumulateAndGet(endNanos, Math::max);
+        }
+
+        public LatencyHistogram getHistogram() {
+            return histogram;
+        }
+
+        public long getErrorCount() {
+            return errors.sum();
+        }
+
+        /**
+         * Completed requests per second between the first request start and the
+         * last response on this endpoint.
+         */
+        public double getThroughputPerSecond() {
+            long window = lastEndNanos.get() - firstStartNanos.get();
+            return window <= 0 ? 0 : histogram.getCount() * 1_000_000_000.0 / window;
+        }
+    }
+}
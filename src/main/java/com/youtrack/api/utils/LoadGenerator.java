@@ -0,0 +1,344 @@
+package com.youtrack.api.utils;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load generator: requests are started at a constant arrival rate
+ * regardless of how long earlier requests take, replaying data rows (e.g. from
+ * {@link CSVDataProvider#streamCSV}) in a loop.
+ *
+ * Response time is measured from the moment a request was <i>scheduled</i> to
+ * start, not from when a worker picked it up, so a slow server is not hidden
+ * by requests queueing behind it (coordinated omission). Service time, measured
+ * from the actual start, is reported separately.
+ *
+ * At most {@code maxBacklog} arrivals wait for a free worker. When a server
+ * cannot keep up, further arrivals are dropped instead of queueing without
+ * limit, and arrivals still waiting when the duration is over are dropped
+ * instead of being run late, so the run ends on time. Dropped arrivals are
+ * counted as errors and reported separately.
+ *
+ * A generator made by {@link #fromConfig} follows reloads of
+ * {@code load.rate.per.second} and {@code load.max.concurrency} while it runs
+ * (see {@link ConfigReader}); the duration stays fixed.
+ */
+public class LoadGenerator {
+
+    private static final int DEFAULT_MAX_BACKLOG = 1000;
+
+    private static final List<LoadResult> results = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final Duration duration;
+    private final int maxBacklog;
+    private final boolean followsConfig;
+    private volatile double ratePerSecond;
+    private volatile int maxConcurrency;
+    private volatile ThreadPoolExecutor activeWorkers;
+
+    public LoadGenerator(String name, double ratePerSecond, Duration duration, int maxConcurrency) {
+        this(name, ratePerSecond, duration, maxConcurrency, DEFAULT_MAX_BACKLOG);
+    }
+
+    public LoadGenerator(String name, double ratePerSecond, Duration duration, int maxConcurrency,
+                         int maxBacklog) {
+        this(name, ratePerSecond, duration, maxConcurrency, maxBacklog, false);
+    }
+
+    private LoadGenerator(String name, double ratePerSecond, Duration duration, int maxConcurrency,
+                          int maxBacklog, boolean followsConfig) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + ratePerSecond);
+        }
+        if (maxBacklog < 1) {
+            throw new IllegalArgumentException("Backlog must be positive: " + maxBacklog);
+        }
+        this.maxBacklog = maxBacklog;
+        this.name = name;
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.maxConcurrency = maxConcurrency;
+        this.followsConfig = followsConfig;
+    }
+
+    /**
+     * Generator configured by {@code load.rate.per.second},
+     * {@code load.duration.seconds}, {@code load.max.concurrency} and
+     * {@code load.max.backlog}.
+     */
+    public static LoadGenerator fromConfig(String name) {
+        ConfigSnapshot config = ConfigReader.snapshot();
+        return new LoadGenerator(name,
+            config.getDouble("load.rate.per.second", 5.0),
+            Duration.ofSeconds(config.getInt("load.duration.seconds", 60)),
+            config.getInt("load.max.concurrency", 50),
+            config.getInt("load.max.backlog", DEFAULT_MAX_BACKLOG),
+            true);
+    }
+
+    /**
+     * Changes the arrival rate; a running load switches to it after the next request.
+     */
+    public void setRatePerSecond(double ratePerSecond) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + ratePerSecond);
+        }
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    /**
+     * Changes the number of workers, also of a running load.
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+        ThreadPoolExecutor workers = activeWorkers;
+        if (workers != null) {
+            resize(workers, maxConcurrency);
+        }
+    }
+
+    /**
+     * Results of every load run in this JVM, in completion order.
+     */
+    public static List<LoadResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Runs the load and blocks until every request started within the
+     * duration has completed.
+     *
+     * @param rows    source of data rows, reopened whenever it is exhausted
+     * @param request executes one request for a row; returns {@code false} or
+     *                throws to count it as an error
+     */
+    public LoadResult run(Supplier<Iterator<Object[]>> rows, Predicate<Object[]> request) {
+        LatencyHistogram responseTime = new LatencyHistogram();
+        LatencyHistogram serviceTime = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        LongAdder dropped = new LongAdder();
+        AtomicLong lastCompletion = new AtomicLong();
+
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(maxConcurrency, maxConcurrency,
+            0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(maxBacklog), workerThreads());
+        activeWorkers = workers;
+        resize(workers, maxConcurrency);
+        BiConsumer<ConfigSnapshot, ConfigSnapshot> retune = (previous, config) -> {
+            if (config.differs(previous, "load.rate.per.second")) {
+                setRatePerSecond(config.getDouble("load.rate.per.second", ratePerSecond));
+            }
+            if (config.differs(previous, "load.max.concurrency")) {
+                setMaxConcurrency(config.getInt("load.max.concurrency", maxConcurrency));
+            }
+        };
+        if (followsConfig) {
+            ConfigReader.addReloadListener(retune);
+        }
+
+        double rate = ratePerSecond;
+        long intervalNanos = (long) (1_000_000_000L / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long anchor = start;
+        long sinceAnchor = 0;
+        long scheduled = 0;
+
+        Iterator<Object[]> source = rows.get();
+        try {
+            for (long intended = start; intended < end; intended = anchor + sinceAnchor * intervalNanos) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+
+                if (!source.hasNext()) {
+                    source = rows.get();
+                    if (!source.hasNext()) {
+                        throw new IllegalStateException("Load data source is empty");
+                    }
+                }
+                Object[] row = source.next();
+                long intendedStart = intended;
+
+                long runEnd = end;
+                Runnable task = () -> {
+                    long actualStart = System.nanoTime();
+                    if (actualStart - runEnd >= 0) {
+                        // Waited in the backlog past the end of the run
+                        dropped.increment();
+                        errors.increment();
+                        return;
+                    }
+                    boolean ok = false;
+                    try {
+                        ok = request.test(row);
+                    } catch (RuntimeException | AssertionError e) {
+                        ok = false;
+                    } finally {
+                        long finished = System.nanoTime();
+                        responseTime.record((finished - intendedStart) / 1000);
+                        serviceTime.record((finished - actualStart) / 1000);
+                        if (!ok) {
+                            errors.increment();
+                        }
+                        lastCompletion.accumulateAndGet(finished, Math::max);
+                    }
+                };
+                try {
+                    workers.execute(ConditionalLoggingFilter.inCurrentTest(task));
+                } catch (RejectedExecutionException e) {
+                    // All workers busy and load.max.backlog arrivals waiting
+                    dropped.increment();
+                    errors.increment();
+                }
+                scheduled++;
+                sinceAnchor++;
+
+                if (rate != ratePerSecond) {
+                    // Retuned: the schedule continues from this request at the new rate
+                    rate = ratePerSecond;
+                    intervalNanos = (long) (1_000_000_000L / rate);
+                    anchor = intended;
+                    sinceAnchor = 1;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ConfigReader.removeReloadListener(retune);
+            activeWorkers = null;
+            workers.shutdown();
+            try {
+                workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                workers.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        long wallNanos = Math.max(lastCompletion.get(), System.nanoTime()) - start;
+        LoadResult result = new LoadResult(name, rate, scheduled, errors.sum(), dropped.sum(),
+            wallNanos, responseTime, serviceTime);
+        results.add(result);
+        return result;
+    }
+
+    /**
+     * Max before core when growing and core before max when shrinking, as
+     * {@link ThreadPoolExecutor} requires core &lt;= max at every step.
+     */
+    private static void resize(ThreadPoolExecutor workers, int size) {
+        if (size > workers.getMaximumPoolSize()) {
+            workers.setMaximumPoolSize(size);
+            workers.setCorePoolSize(size);
+        } else {
+            workers.setCorePoolSize(size);
+            workers.setMaximumPoolSize(size);
+        }
+    }
+
+    private ThreadFactory workerThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "load-" + name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static class LoadResult {
+
+        private final String name;
+        private final double targetRate;
+        private final long requests;
+        private final long errors;
+        private final long dropped;
+        private final long wallNanos;
+        private final LatencyHistogram responseTime;
+        private final LatencyHistogram serviceTime;
+
+        LoadResult(String name, double targetRate, long requests, long errors, long dropped, long wallNanos,
+                   LatencyHistogram responseTime, LatencyHistogram serviceTime) {
+            this.name = name;
+            this.targetRate = targetRate;
+            this.requests = requests;
+            this.errors = errors;
+            this.dropped = dropped;
+            this.wallNanos = wallNanos;
+            this.responseTime = responseTime;
+            this.serviceTime = serviceTime;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * Arrivals never sent because the backlog was full or the run was over;
+         * included in {@link #getErrors()}.
+         */
+        public long getDropped() {
+            return dropped;
+        }
+
+        public double getErrorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        public double getAchievedThroughput() {
+            return wallNanos <= 0 ? 0 : (requests - dropped) * 1_000_000_000.0 / wallNanos;
+        }
+
+        /**
+         * Latency measured from the scheduled start, in microseconds.
+         */
+        public LatencyHistogram getResponseTime() {
+            return responseTime;
+        }
+
+        /**
+         * Latency measured from the actual start, in microseconds.
+         */
+        public LatencyHistogram getServiceTime() {
+            return serviceTime;
+        }
+
+        public String describe() {
+            return String.format("%s: target %.2f req/s, achieved %.2f req/s, requests %d, "
+                    + "errors %d (%.2f%%), dropped %d, response p50/p90/p99/max %.2f/%.2f/%.2f/%.2f ms, "
+                    + "service p50/p99 %.2f/%.2f ms",
+                name, targetRate, getAchievedThroughput(), requests, errors, getErrorRate() * 100, dropped,
+                responseTime.getValueAtPercentile(50) / 1000.0,
+                responseTime.getValueAtPercentile(90) / 1000.0,
+                responseTime.getValueAtPercentile(99) / 1000.0,
+                responseTime.getMax() / 1000.0,
+                serviceTime.getValueAtPercentile(50) / 1000.0,
+                serviceTime.getValueAtPercentile(99) / 1000.0);
+        }
+    }
+}
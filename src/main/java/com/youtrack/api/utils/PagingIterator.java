@@ -0,0 +1,130 @@
+package com.youtrack.api.utils;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import io.restassured.specification.RequestSpecification;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Lazily walks a YouTrack collection endpoint ({@code /issues},
+ * {@code /admin/projects}, ...) page by page using {@code $skip}/{@code $top}.
+ *
+ * As soon as a full page arrives, the request for the next one is sent in the
+ * background, so the round trip for page N+1 overlaps with the caller
+ * consuming page N. A page shorter than the page size ends the iteration.
+ * The page size comes from {@code paging.page.size}.
+ *
+ * Every page is requested with a fresh specification from {@code request},
+ * e.g. {@code () -> given().spec(requestSpec).queryParam("fields", "id")}.
+ */
+public class PagingIterator<T> implements Iterator<T>, Closeable {
+
+    private static final ExecutorService prefetcher = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("page-prefetch-", 0).factory());
+
+    private final Supplier<RequestSpecification> request;
+    private final String path;
+    private final Class<T> type;
+    private final int pageSize;
+
+    private Iterator<T> currentPage = Collections.emptyIterator();
+    private CompletableFuture<List<T>> nextPage;
+    private long skip;
+    private long pagesFetched;
+
+    public PagingIterator(Supplier<RequestSpecification> request, String path, Class<T> type,
+                          int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1: " + pageSize);
+        }
+        this.request = request;
+        this.path = path;
+        this.type = type;
+        this.pageSize = pageSize;
+        this.nextPage = fetch(0);
+    }
+
+    public static <T> PagingIterator<T> over(Supplier<RequestSpecification> request, String path,
+                                             Class<T> type) {
+        return new PagingIterator<>(request, path, type,
+            ConfigReader.getIntProperty("paging.page.size", 100));
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!currentPage.hasNext()) {
+            if (nextPage == null) {
+                return false;
+            }
+            List<T> page = await(nextPage);
+            pagesFetched++;
+            nextPage = page.size() < pageSize ? null : fetch(skip);
+            currentPage = page.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentPage.next();
+    }
+
+    public long getPagesFetched() {
+        return pagesFetched;
+    }
+
+    /**
+     * Stops prefetching. A page request already in flight is still completed
+     * but its result is discarded.
+     */
+    @Override
+    public void close() {
+        if (nextPage != null) {
+            nextPage.cancel(false);
+            nextPage = null;
+        }
+        currentPage = Collections.emptyIterator();
+    }
+
+    private CompletableFuture<List<T>> fetch(long offset) {
+        skip = offset + pageSize;
+        return CompletableFuture.supplyAsync(() -> {
+            RequestSpecification pageRequest = request.get()
+                .queryParam("$skip", offset)
+                .queryParam("$top", pageSize);
+            try (MappingIterator<T> elements = StreamingJson.openList(pageRequest, path, type)) {
+                return elements.readAll();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read page of " + path, e);
+            }
+        }, task -> prefetcher.execute(ConditionalLoggingFilter.inCurrentTest(task)));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
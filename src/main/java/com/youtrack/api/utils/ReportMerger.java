@@ -0,0 +1,241 @@
+package com.youtrack.api.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Combines the reports of a sharded run (see {@link ShardingInterceptor}) into
+ * one report in the configured {@code report.formats}.
+ *
+ * Reads every {@code test-report-*-shard-N-of-M.jsonl} in a directory (one per
+ * TestNG {@code <test>} per shard) and each shard's latency snapshot, then
+ * writes {@code test-report-merged-<timestamp>.*} with all test results, totals
+ * recounted from them, and one latency table built from the merged histograms.
+ * Other report sections are carried over per shard.
+ *
+ * Usage: {@code ReportMerger [directory]}, run after copying the shards'
+ * report files into one directory. Exits with status 1 if a shard is missing.
+ */
+public class ReportMerger {
+
+    private static final Pattern SHARD_REPORT =
+        Pattern.compile("test-report-.*-shard-(\\d+)-of-(\\d+)\\.jsonl");
+
+    public static void main(String[] args) {
+        File directory = new File(args.length > 0 ? args[0] : ".");
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        MergeResult result = merge(directory, new File(directory, "test-report-merged-" + timestamp));
+
+        System.out.println(result.describe());
+        AsyncLogWriter.flush(5000);
+        System.exit(result.getMissingShards().isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Latency snapshot of one shard. {@link LatencyStats} is process-wide, so
+     * every {@code <test>} of the shard overwrites it with the cumulative data.
+     */
+    public static File latencySnapshotFile(File directory, int shardIndex, int shardCount) {
+        return new File(directory,
+            "test-report-shard-" + shardIndex + "-of-" + shardCount + ".latency.json");
+    }
+
+    public static MergeResult merge(File directory, File outputBase) {
+        File[] reports = directory.listFiles((dir, name) -> SHARD_REPORT.matcher(name).matches());
+        if (reports == null || reports.length == 0) {
+            throw new IllegalStateException("No shard reports (test-report-*-shard-N-of-M.jsonl) in "
+                + directory.getAbsolutePath());
+        }
+        Arrays.sort(reports, Comparator.comparing(File::getName));
+
+        int shardCount = -1;
+        Map<Integer, Integer> testsPerShard = new TreeMap<>();
+        Map<Integer, JsonNode> shardSections = new TreeMap<>();
+        Map<Integer, LocalDateTime> lastSummary = new TreeMap<>();
+        List<TestResultRecord> records = new ArrayList<>();
+        String suiteName = null;
+        LocalDateTime startTime = null;
+
+        for (File report : reports) {
+            Matcher matcher = SHARD_REPORT.matcher(report.getName());
+            matcher.matches();
+            int shard = Integer.parseInt(matcher.group(1));
+            int count = Integer.parseInt(matcher.group(2));
+            if (shardCount >= 0 && count != shardCount) {
+                throw new IllegalStateException("Reports from runs with different shard counts: "
+                    + shardCount + " and " + count + " (" + report.getName() + ")");
+            }
+            shardCount = count;
+
+            for (JsonNode event : readEvents(report)) {
+                switch (event.path("type").asText()) {
+                    case "start":
+                        LocalDateTime started = LocalDateTime.parse(event.path("startTime").asText());
+                        if (startTime == null || started.isBefore(startTime)) {
+                            startTime = started;
+                        }
+                        if (suiteName == null) {
+                            suiteName = event.path("suite").asText();
+                        }
+                        break;
+                    case "test":
+                        records.add(toRecord(event));
+                        testsPerShard.merge(shard, 1, Integer::sum);
+                        break;
+                    case "summary":
+                        // Sections hold process-wide totals, so the shard's last summary wins
+                        LocalDateTime ended = LocalDateTime.parse(event.path("endTime").asText());
+                        if (!ended.isBefore(lastSummary.getOrDefault(shard, LocalDateTime.MIN))) {
+                            lastSummary.put(shard, ended);
+                            shardSections.put(shard, event.path("sections"));
+                        }
+                        testsPerShard.putIfAbsent(shard, 0);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        LatencyStats.reset();
+        for (int shard = 0; shard < shardCount; shard++) {
+            File snapshot = latencySnapshotFile(directory, shard, shardCount);
+            if (snapshot.isFile()) {
+                try {
+                    LatencyStats.mergeSnapshot(snapshot);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read " + snapshot, e);
+                }
+            }
+        }
+
+        TreeSet<Integer> missing = new TreeSet<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (!testsPerShard.containsKey(shard)) {
+                missing.add(shard);
+            }
+        }
+
+        records.sort(Comparator.comparingLong(TestResultRecord::getStartMillis));
+        long passed = records.stream().filter(r -> r.getStatus().equals("PASSED")).count();
+        long failed = records.stream().filter(r -> r.getStatus().equals("FAILED")).count();
+        long skipped = records.size() - passed - failed;
+
+        Map<String, String> sections = new LinkedHashMap<>();
+        sections.put("Shards", describeShards(shardCount, testsPerShard, missing));
+        if (!LatencyStats.isEmpty()) {
+            sections.put("Endpoint Latency", LatencyStats.describe());
+        }
+        shardSections.forEach((shard, shardSummary) ->
+            shardSummary.fields().forEachRemaining(section -> {
+                if (!section.getKey().equals("Endpoint Latency")) {
+                    sections.put("Shard " + shard + " " + section.getKey(), section.getValue().asText());
+                }
+            }));
+        ReportSummary summary = new ReportSummary(passed, failed, skipped, LocalDateTime.now(), sections);
+
+        writeReport(outputBase.getPath(), suiteName, startTime, records, summary);
+        return new MergeResult(outputBase, summary, missing);
+    }
+
+    private static List<JsonNode> readEvents(File report) {
+        List<JsonNode> events = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(report.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    events.add(JsonSupport.mapper().readTree(line));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + report, e);
+        }
+        return events;
+    }
+
+    private static TestResultRecord toRecord(JsonNode event) {
+        return new TestResultRecord(
+            event.path("suite").asText(null),
+            event.path("class").asText(),
+            event.path("method").asText(),
+            event.path("description").asText(null),
+            event.path("status").asText(),
+            event.path("startMillis").asLong(),
+            event.path("endMillis").asLong(),
+            event.path("failure").asText(null),
+            event.path("stackTrace").asText(null));
+    }
+
+    private static String describeShards(int shardCount, Map<Integer, Integer> testsPerShard,
+                                         TreeSet<Integer> missing) {
+        StringBuilder line = new StringBuilder()
+            .append(testsPerShard.size()).append(" of ").append(shardCount).append(" merged");
+        testsPerShard.forEach((shard, tests) ->
+            line.append(", shard ").append(shard).append(": ").append(tests).append(" tests"));
+        if (!missing.isEmpty()) {
+            line.append(", MISSING: ").append(missing);
+        }
+        return line.toString();
+    }
+
+    private static void writeReport(String baseName, String suiteName, LocalDateTime startTime,
+                                     List<TestResultRecord> records, ReportSummary summary) {
+        for (ReportSink sink : TestReportListener.createSinks(baseName, false)) {
+            try (sink) {
+                sink.start(suiteName, startTime);
+                for (TestResultRecord record : records) {
+                    sink.record(record);
+                }
+                sink.flush();
+                sink.finish(summary);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write merged report " + baseName, e);
+            }
+        }
+    }
+
+    public static class MergeResult {
+
+        private final File outputBase;
+        private final ReportSummary summary;
+        private final TreeSet<Integer> missingShards;
+
+        MergeResult(File outputBase, ReportSummary summary, TreeSet<Integer> missingShards) {
+            this.outputBase = outputBase;
+            this.summary = summary;
+            this.missingShards = missingShards;
+        }
+
+        public ReportSummary getSummary() {
+            return summary;
+        }
+
+        public TreeSet<Integer> getMissingShards() {
+            return missingShards;
+        }
+
+        public String describe() {
+            return String.format("Merged report %s.*: %d tests, %d passed, %d failed, %d skipped%s",
+                outputBase.getPath(), summary.getTotal(), summary.getPassed(), summary.getFailed(),
+                summary.getSkipped(),
+                missingShards.isEmpty() ? "" : ", missing shards " + missingShards);
+        }
+    }
+}
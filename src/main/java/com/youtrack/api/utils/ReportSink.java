@@ -0,0 +1,22 @@
+package com.youtrack.api.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Output format for {@link TestReportListener}. Methods are never called
+ * concurrently: {@link #start} first, then {@link #record}/{@link #flush} from
+ * the report writer thread, then {@link #finish} and {@link #close} once that
+ * thread has stopped.
+ */
+public interface ReportSink extends Closeable {
+
+    void start(String suiteName, LocalDateTime startTime) throws IOException;
+
+    void record(TestResultRecord record) throws IOException;
+
+    void flush() throws IOException;
+
+    void finish(ReportSummary summary) throws IOException;
+}
@@ -0,0 +1,60 @@
+package com.youtrack.api.utils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Totals and extra report sections handed to every {@link ReportSink} at the
+ * end of a run.
+ */
+public class ReportSummary {
+
+    private final long passed;
+    private final long failed;
+    private final long skipped;
+    private final LocalDateTime endTime;
+    private final Map<String, String> sections;
+
+    public ReportSummary(long passed, long failed, long skipped, LocalDateTime endTime,
+                         Map<String, String> sections) {
+        this.passed = passed;
+        this.failed = failed;
+        this.skipped = skipped;
+        this.endTime = endTime;
+        this.sections = Collections.unmodifiableMap(new LinkedHashMap<>(sections));
+    }
+
+    public long getTotal() {
+        return passed + failed + skipped;
+    }
+
+    public long getPassed() {
+        return passed;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public double getSuccessRate() {
+        return (passed * 100.0) / getTotal();
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Additional named blocks (connection pool stats, latency tables, ...) in
+     * insertion order.
+     */
+    public Map<String, String> getSections() {
+        return sections;
+    }
+}
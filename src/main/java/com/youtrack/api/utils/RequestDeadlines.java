@@ -0,0 +1,370 @@
+package com.youtrack.api.utils;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.AbstractExecutionAwareRequest;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Time limits for every request sent through the shared client, so one hung
+ * YouTrack call cannot hold a TestNG worker forever:
+ * <ul>
+ *   <li>connect and read (socket) timeouts {@code timeout.connect.seconds} and
+ *       {@code timeout.read.seconds}, set on the client by {@link HttpClientPool};</li>
+ *   <li>a total deadline of {@code timeout.seconds} per request that covers the
+ *       wait for a throttle permit and a pooled connection, 429/503 retries and
+ *       reading the body; when it passes the request is aborted and fails;</li>
+ *   <li>an optional suite deadline {@code timeout.suite.minutes}, counted from the
+ *       start of the suite: requests never run past it, and afterwards new ones
+ *       fail at once and {@link SuiteDeadlineListener} skips the remaining tests;
+ *       requests made inside {@link #outsideSuiteDeadline}, such as the issue
+ *       cleanup at the end of the suite, are exempt from it;</li>
+ *   <li>calls slower than {@code timeout.slow.call.ms} are reported with the
+ *       stack of the calling thread captured when they crossed the threshold,
+ *       i.e. where they were stuck.</li>
+ * </ul>
+ * {@link DeadlineFilter} opens a {@link Call} per request; the retry loop in
+ * {@link HttpClientPool} attaches the HTTP request to it so it can be aborted.
+ */
+public class RequestDeadlines {
+
+    private static final int STACK_FRAMES = 5;
+    private static final String TEST_PACKAGE = "com.youtrack.api.tests.";
+
+    private static final int connectTimeoutMillis = (int) TimeUnit.SECONDS.toMillis(
+        ConfigReader.getIntProperty("timeout.connect.seconds", 10));
+    private static final int readTimeoutMillis = (int) TimeUnit.SECONDS.toMillis(
+        ConfigReader.getIntProperty("timeout.read.seconds", ConfigReader.getTimeout()));
+    private static final long totalTimeoutNanos = TimeUnit.SECONDS.toNanos(ConfigReader.getTimeout());
+    private static final double suiteTimeoutMinutes = ConfigReader.getDoubleProperty("timeout.suite.minutes", 0);
+    private static final long suiteTimeoutNanos = (long) (suiteTimeoutMinutes * 60_000_000_000L);
+    private static final long slowCallNanos = TimeUnit.MILLISECONDS.toNanos(
+        ConfigReader.getIntProperty("timeout.slow.call.ms", 5000));
+    private static final int maxSlowCallsReported =
+        ConfigReader.getIntProperty("timeout.slow.call.max.reported", 10);
+
+    private static final ScheduledThreadPoolExecutor timer = createTimer();
+    private static final ThreadLocal<Call> current = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> exemptFromSuite = ThreadLocal.withInitial(() -> false);
+    private static volatile long suiteDeadlineNanos;
+
+    private static final LongAdder calls = new LongAdder();
+    private static final LongAdder abortedCalls = new LongAdder();
+    private static final LongAdder refused = new LongAdder();
+    private static final LongAdder slowCalls = new LongAdder();
+    private static final List<SlowCall> slowest = new ArrayList<>();
+
+    public static int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public static int getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    public static long getTotalTimeoutMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalTimeoutNanos);
+    }
+
+    /**
+     * Starts the suite deadline clock; otherwise it starts with the first request.
+     */
+    public static synchronized void startSuite() {
+        if (suiteTimeoutNanos > 0 && suiteDeadlineNanos == 0) {
+            suiteDeadlineNanos = System.nanoTime() + suiteTimeoutNanos;
+        }
+    }
+
+    /**
+     * Ends the suite deadline now, as if {@code timeout.suite.minutes} had run
+     * out: remaining tests are skipped and new requests refused.
+     */
+    public static synchronized void expireSuite() {
+        suiteDeadlineNanos = System.nanoTime();
+    }
+
+    /**
+     * Runs {@code action} on this thread with requests exempt from the suite
+     * deadline, so that work which must happen after it, like deleting the
+     * issues a run created, is not refused. Each request still has its own
+     * {@code timeout.seconds} deadline.
+     */
+    public static <T> T outsideSuiteDeadline(Supplier<T> action) {
+        boolean previous = exemptFromSuite.get();
+        exemptFromSuite.set(true);
+        try {
+            return action.get();
+        } finally {
+            exemptFromSuite.set(previous);
+        }
+    }
+
+    public static boolean isSuiteExpired() {
+        long deadline = suiteDeadlineNanos;
+        return deadline != 0 && System.nanoTime() - deadline >= 0;
+    }
+
+    public static String describeSuiteTimeout() {
+        return "Suite deadline of " + suiteTimeoutMinutes + " min (timeout.suite.minutes) exceeded";
+    }
+
+    /**
+     * Opens the deadline of a request made on this thread; must be paired with
+     * {@link #end(Call)}.
+     *
+     * @throws IllegalStateException if the suite deadline has already passed,
+     *                               outside {@link #outsideSuiteDeadline}
+     */
+    public static Call begin(String method, String path) {
+        long now = System.nanoTime();
+        long deadline = deadlineFor(method, path);
+
+        ITestResult test = Reporter.getCurrentTestResult();
+        Call call = new Call(method, path, Thread.currentThread(), current.get(), now, deadline,
+            test == null ? "-" : test.getTestClass().getRealClass().getSimpleName() + "." + test.getName());
+        call.abortTask = timer.schedule(call::expire, deadline - now, TimeUnit.NANOSECONDS);
+        if (slowCallNanos > 0 && slowCallNanos < deadline - now) {
+            call.slowTask = timer.schedule(call::captureStack, slowCallNanos, TimeUnit.NANOSECONDS);
+        }
+        current.set(call);
+        return call;
+    }
+
+    /**
+     * Deadline of a request that does not run on the calling thread, such as
+     * one sent by {@link AsyncYouTrackClient}: {@code timeout.seconds} from now,
+     * cut at the suite deadline. Counted like {@link #begin}, but the caller
+     * enforces the deadline itself.
+     *
+     * @return the deadline as a {@link System#nanoTime()} value
+     * @throws IllegalStateException if the suite deadline has already passed,
+     *                               outside {@link #outsideSuiteDeadline}
+     */
+    public static long deadlineFor(String method, String path) {
+        startSuite();
+        boolean suiteBound = !exemptFromSuite.get();
+        if (suiteBound && isSuiteExpired()) {
+            refused.increment();
+            throw new IllegalStateException(describeSuiteTimeout() + ", not sending " + method + " " + path);
+        }
+        calls.increment();
+        long deadline = System.nanoTime() + totalTimeoutNanos;
+        if (suiteBound && suiteDeadlineNanos != 0 && suiteDeadlineNanos - deadline < 0) {
+            deadline = suiteDeadlineNanos;
+        }
+        return deadline;
+    }
+
+    public static void end(Call call) {
+        call.abortTask.cancel(false);
+        if (call.slowTask != null) {
+            call.slowTask.cancel(false);
+        }
+        if (call.previous != null) {
+            current.set(call.previous);
+        } else {
+            current.remove();
+        }
+
+        long elapsed = System.nanoTime() - call.startNanos;
+        if (call.isExpired() || (slowCallNanos > 0 && elapsed >= slowCallNanos)) {
+            slowCalls.increment();
+            record(new SlowCall(call, TimeUnit.NANOSECONDS.toMillis(elapsed)));
+        }
+    }
+
+    /**
+     * Links the HTTP request about to be executed on this thread to the
+     * current call, so its deadline can abort it.
+     */
+    static void attach(HttpRequest request) {
+        Call call = current.get();
+        if (call != null && request instanceof AbstractExecutionAwareRequest) {
+            call.attach((AbstractExecutionAwareRequest) request);
+        }
+    }
+
+    /**
+     * Time left before the current call's deadline; {@code Long.MAX_VALUE}
+     * outside a call.
+     */
+    public static long remainingNanos() {
+        Call call = current.get();
+        return call == null ? Long.MAX_VALUE : Math.max(0, call.deadlineNanos - System.nanoTime());
+    }
+
+    public static boolean hasActivity() {
+        return abortedCalls.sum() + refused.sum() + slowCalls.sum() > 0;
+    }
+
+    public static String describeStats() {
+        return String.format("requests %d, aborted at deadline %d, refused after suite deadline %d, "
+                + "slow (>= %d ms) %d, limits connect/read/total %d/%d/%d ms%s",
+            calls.sum(), abortedCalls.sum(), refused.sum(), TimeUnit.NANOSECONDS.toMillis(slowCallNanos),
+            slowCalls.sum(), connectTimeoutMillis, readTimeoutMillis, getTotalTimeoutMillis(),
+            suiteTimeoutNanos > 0 ? ", suite " + suiteTimeoutMinutes + " min" : "");
+    }
+
+    /**
+     * The slowest calls, slowest first, as report sections.
+     */
+    public static Map<String, String> describeSlowCalls() {
+        Map<String, String> sections = new LinkedHashMap<>();
+        synchronized (slowest) {
+            for (int i = 0; i < slowest.size(); i++) {
+                sections.put("Slow Call " + (i + 1), slowest.get(i).describe());
+            }
+        }
+        return sections;
+    }
+
+    private static void record(SlowCall slowCall) {
+        synchronized (slowest) {
+            slowest.add(slowCall);
+            slowest.sort(Comparator.comparingLong((SlowCall s) -> -s.elapsedMillis));
+            if (slowest.size() > maxSlowCallsReported) {
+                slowest.remove(slowest.size() - 1);
+            }
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "request-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * One request's deadline. The timer thread expires it; the calling thread
+     * attaches each HTTP attempt.
+     */
+    public static class Call {
+
+        private final String method;
+        private final String path;
+        private final Thread thread;
+        private final Call previous;
+        private final long startNanos;
+        private final long deadlineNanos;
+        private final String testName;
+        private ScheduledFuture<?> abortTask;
+        private ScheduledFuture<?> slowTask;
+        private AbstractExecutionAwareRequest request;
+        private volatile boolean expired;
+        private volatile StackTraceElement[] stack;
+
+        Call(String method, String path, Thread thread, Call previous, long startNanos,
+             long deadlineNanos, String testName) {
+            this.method = method;
+            this.path = path;
+            this.thread = thread;
+            this.previous = previous;
+            this.startNanos = startNanos;
+            this.deadlineNanos = deadlineNanos;
+            this.testName = testName;
+        }
+
+        public boolean isExpired() {
+            return expired;
+        }
+
+        public String describeTimeout() {
+            return String.format("%s %s aborted after %d ms: %s", method, path,
+                TimeUnit.NANOSECONDS.toMillis(deadlineNanos - startNanos),
+                deadlineNanos - startNanos < totalTimeoutNanos
+                    ? describeSuiteTimeout() : "request deadline (timeout.seconds) exceeded");
+        }
+
+        synchronized void attach(AbstractExecutionAwareRequest request) {
+            this.request = request;
+            if (expired) {
+                request.abort();
+            }
+        }
+
+        private synchronized void expire() {
+            captureStack();
+            expired = true;
+            abortedCalls.increment();
+            if (request != null) {
+                request.abort();
+            }
+        }
+
+        private void captureStack() {
+            if (stack == null) {
+                stack = thread.getStackTrace();
+            }
+        }
+    }
+
+    private static class SlowCall {
+
+        private final String method;
+        private final String path;
+        private final String testName;
+        private final long elapsedMillis;
+        private final boolean aborted;
+        private final StackTraceElement[] stack;
+
+        SlowCall(Call call, long elapsedMillis) {
+            this.method = call.method;
+            this.path = call.path;
+            this.testName = call.testName;
+            this.elapsedMillis = elapsedMillis;
+            this.aborted = call.expired;
+            this.stack = call.stack;
+        }
+
+        /**
+         * The innermost frame (where the thread was waiting), the first frames
+         * outside the JDK (which library call it was in) and the test frame.
+         */
+        String describe() {
+            StringBuilder line = new StringBuilder()
+                .append(method).append(' ').append(path).append(' ').append(elapsedMillis).append(" ms")
+                .append(aborted ? " (aborted)" : "").append(" in ").append(testName);
+            if (stack == null || stack.length == 0) {
+                return line.toString();
+            }
+            line.append(" at ").append(stack[0]);
+            int first = 1;
+            while (first < stack.length && isJdkFrame(stack[first])) {
+                first++;
+            }
+            if (first > 1) {
+                line.append(" <- ...");
+            }
+            int shown = Math.min(first + STACK_FRAMES, stack.length);
+            for (int i = first; i < shown; i++) {
+                line.append(" <- ").append(stack[i]);
+            }
+            for (int i = shown; i < stack.length; i++) {
+                if (stack[i].getClassName().startsWith(TEST_PACKAGE)) {
+                    line.append(" <- ... <- ").append(stack[i]);
+                    break;
+                }
+            }
+            return line.toString();
+        }
+
+        private static boolean isJdkFrame(StackTraceElement frame) {
+            String className = frame.getClassName();
+            return className.startsWith("java.") || className.startsWith("sun.") || className.startsWith("jdk.");
+        }
+    }
+}
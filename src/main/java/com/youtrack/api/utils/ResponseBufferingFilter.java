@@ -0,0 +1,33 @@
+package com.youtrack.api.utils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Reads every response body into memory as soon as it arrives.
+ *
+ * Unless a test asserts on the body, RestAssured keeps it as an unread stream,
+ * and the connection it came from stays leased until somebody reads it. With
+ * the shared {@link HttpClientPool} that means a test which only checks the
+ * status code leaks a pooled connection, and once {@code http.pool.max.per.route}
+ * of them have leaked every further request blocks waiting for a connection.
+ *
+ * Responses requested through {@link StreamingJson} are left unread; the
+ * streaming reader releases the connection itself.
+ */
+public class ResponseBufferingFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (!StreamingJson.isStreamingRequest()) {
+            response.asByteArray();
+        }
+        return response;
+    }
+}
@@ -0,0 +1,202 @@
+package com.youtrack.api.utils;
+
+import io.restassured.response.Response;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Process-wide LRU cache of GET responses for {@link ResponseCachingFilter}.
+ *
+ * Only paths listed in {@code cache.paths} are cached (reference data such as
+ * {@code /users/me}), at most {@code cache.max.entries} of them. An entry is
+ * served without a request for {@code cache.ttl.seconds}; after that it is
+ * revalidated with {@code If-None-Match}/{@code If-Modified-Since} when the
+ * server sent an {@code ETag} or {@code Last-Modified}, and refetched otherwise.
+ * Disabled unless {@code cache.enabled=true}.
+ */
+public class ResponseCache {
+
+    private static final boolean enabled = ConfigReader.getBooleanProperty("cache.enabled", false);
+    private static final int maxEntries = ConfigReader.getIntProperty("cache.max.entries", 256);
+    private static final long ttlNanos = TimeUnit.SECONDS.toNanos(
+        ConfigReader.getIntProperty("cache.ttl.seconds", 60));
+    private static final int maxBodyBytes = ConfigReader.getIntProperty("cache.max.body.bytes", 1 << 20);
+    private static final List<String> paths = parsePaths(ConfigReader.getProperty("cache.paths"));
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder revalidated = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder evictions = new LongAdder();
+    private static final LongAdder invalidations = new LongAdder();
+
+    private static final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static boolean isCacheable(String path) {
+        String cleanPath = stripQuery(path);
+        for (String cached : paths) {
+            if (cleanPath.equals(cached) || cleanPath.startsWith(cached + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean fitsInCache(long contentLength) {
+        return contentLength >= 0 && contentLength <= maxBodyBytes;
+    }
+
+    public static Entry get(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    public static void put(String key, String path, Response response) {
+        Entry entry = new Entry(stripQuery(path), response, System.nanoTime());
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Drops every entry for {@code path}, its parent collections and its
+     * sub-resources, e.g. a POST to {@code /issues/2-5} drops
+     * {@code /issues/2-5} and {@code /issues}.
+     */
+    public static void invalidate(String path) {
+        String changed = stripQuery(path);
+        synchronized (entries) {
+            entries.values().removeIf(entry -> {
+                boolean related = entry.path.equals(changed)
+                    || changed.startsWith(entry.path + "/")
+                    || entry.path.startsWith(changed + "/");
+                if (related) {
+                    invalidations.increment();
+                }
+                return related;
+            });
+        }
+    }
+
+    /**
+     * Marks every entry stale, so its next GET is revalidated or refetched.
+     */
+    static void expireAll() {
+        synchronized (entries) {
+            entries.values().forEach(Entry::expire);
+        }
+    }
+
+    static void recordHit() {
+        hits.increment();
+    }
+
+    static void recordRevalidated() {
+        revalidated.increment();
+    }
+
+    static void recordMiss() {
+        misses.increment();
+    }
+
+    public static long getHits() {
+        return hits.sum() + revalidated.sum();
+    }
+
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    public static boolean hasActivity() {
+        return getHits() + getMisses() > 0;
+    }
+
+    public static void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public static String describeStats() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return String.format("hits %d (revalidated %d), misses %d, hit ratio %.1f%%, "
+                + "entries %d/%d, evictions %d, invalidations %d",
+            hitCount, revalidated.sum(), getMisses(), total == 0 ? 0 : hitCount * 100.0 / total,
+            size, maxEntries, evictions.sum(), invalidations.sum());
+    }
+
+    private static String stripQuery(String path) {
+        if (path == null) {
+            return "";
+        }
+        int query = path.indexOf('?');
+        return query >= 0 ? path.substring(0, query) : path;
+    }
+
+    private static List<String> parsePaths(String value) {
+        return Arrays.stream((value == null ? "/users/me,/admin/projects" : value).split(","))
+            .map(String::trim)
+            .filter(path -> !path.isEmpty())
+            .collect(Collectors.toList());
+    }
+
+    public static class Entry {
+
+        private final String path;
+        private final Response response;
+        private volatile long validatedAt;
+
+        Entry(String path, Response response, long validatedAt) {
+            this.path = path;
+            this.response = response;
+            this.validatedAt = validatedAt;
+        }
+
+        public Response getResponse() {
+            return response;
+        }
+
+        public boolean isFresh() {
+            return System.nanoTime() - validatedAt < ttlNanos;
+        }
+
+        public String getETag() {
+            return response.getHeader("ETag");
+        }
+
+        public String getLastModified() {
+            return response.getHeader("Last-Modified");
+        }
+
+        void markValidated() {
+            validatedAt = System.nanoTime();
+        }
+
+        void expire() {
+            validatedAt = System.nanoTime() - ttlNanos;
+        }
+    }
+}
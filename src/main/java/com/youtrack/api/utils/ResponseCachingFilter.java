@@ -0,0 +1,107 @@
+package com.youtrack.api.utils;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Serves repeated GETs of reference data from {@link ResponseCache} and
+ * revalidates stale entries with a conditional request, so parallel test
+ * classes do not download the same {@code /users/me} or {@code /admin/projects}
+ * over and over. Other methods pass through and drop the cached entries of
+ * the resource they change.
+ *
+ * Entries are keyed by full URI (query included), {@code Authorization} and
+ * {@code Accept}, so a request with a different token never sees another
+ * token's response. Only 200 responses are stored; a streamed response is
+ * stored only if its {@code Content-Length} is within {@code cache.max.body.bytes}.
+ */
+public class ResponseCachingFilter implements Filter {
+
+    private final boolean enabled;
+
+    public ResponseCachingFilter() {
+        this(ResponseCache.isEnabled());
+    }
+
+    // Lets ResponseCacheTest cache regardless of cache.enabled
+    ResponseCachingFilter(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!enabled) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        String path = requestSpec.getUserDefinedPath();
+        if (!"GET".equals(requestSpec.getMethod())) {
+            Response response = ctx.next(requestSpec, responseSpec);
+            ResponseCache.invalidate(path);
+            return response;
+        }
+        if (!ResponseCache.isCacheable(path)) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        String key = requestSpec.getURI()
+            + "\n" + requestSpec.getHeaders().getValue("Authorization")
+            + "\n" + requestSpec.getHeaders().getValue("Accept");
+        ResponseCache.Entry entry = ResponseCache.get(key);
+        if (entry != null && entry.isFresh()) {
+            ResponseCache.recordHit();
+            return copyOf(entry.getResponse());
+        }
+
+        if (entry != null) {
+            if (entry.getETag() != null) {
+                requestSpec.header("If-None-Match", entry.getETag());
+            }
+            if (entry.getLastModified() != null) {
+                requestSpec.header("If-Modified-Since", entry.getLastModified());
+            }
+        }
+        Response response = ctx.next(requestSpec, responseSpec);
+
+        if (entry != null && response.getStatusCode() == 304) {
+            entry.markValidated();
+            ResponseCache.recordRevalidated();
+            return copyOf(entry.getResponse());
+        }
+        ResponseCache.recordMiss();
+        if (response.getStatusCode() == 200 && isStorable(response)) {
+            response.asByteArray();
+            ResponseCache.put(key, path, response);
+            return copyOf(response);
+        }
+        return response;
+    }
+
+    private static boolean isStorable(Response response) {
+        String cacheControl = response.getHeader("Cache-Control");
+        if (cacheControl != null && cacheControl.contains("no-store")) {
+            return false;
+        }
+        if (!StreamingJson.isStreamingRequest()) {
+            return true;
+        }
+        String contentLength = response.getHeader("Content-Length");
+        try {
+            return contentLength != null && ResponseCache.fitsInCache(Long.parseLong(contentLength));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Each caller gets its own response over the shared, already read body.
+     */
+    private static Response copyOf(Response cached) {
+        return new ResponseBuilder().clone(cached).build();
+    }
+}
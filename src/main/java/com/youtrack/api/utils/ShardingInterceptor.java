@@ -0,0 +1,216 @@
+package com.youtrack.api.utils;
+
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits a suite across {@code shard.count} JVMs; this one runs shard
+ * {@code shard.index} (0-based). Every shard computes the same partition, so
+ * no coordination is needed:
+ * <ul>
+ *   <li>methods linked by {@code dependsOnMethods}/{@code dependsOnGroups}
+ *       stay together and are assigned as one unit to the least loaded shard;</li>
+ *   <li>data-driven methods (and whatever they depend on) run in every shard,
+ *       and their data provider rows are dealt out by row index, so streaming
+ *       providers such as {@link CSVDataProvider#streamCSV} stay lazy.</li>
+ * </ul>
+ * With the default {@code shard.count=1} nothing is filtered. Per-shard
+ * reports are combined afterwards with {@link ReportMerger}.
+ */
+public class ShardingInterceptor implements IMethodInterceptor, IDataProviderInterceptor {
+
+    private static final int SHARD_COUNT = ConfigReader.getIntProperty("shard.count", 1);
+    private static final int SHARD_INDEX = ConfigReader.getIntProperty("shard.index", 0);
+
+    public ShardingInterceptor() {
+        if (SHARD_COUNT < 1 || SHARD_INDEX < 0 || SHARD_INDEX >= SHARD_COUNT) {
+            throw new IllegalArgumentException("Invalid shard " + SHARD_INDEX + " of " + SHARD_COUNT
+                + ": shard.index must be between 0 and shard.count - 1");
+        }
+    }
+
+    public static boolean isSharded() {
+        return SHARD_COUNT > 1;
+    }
+
+    public static int getShardIndex() {
+        return SHARD_INDEX;
+    }
+
+    public static int getShardCount() {
+        return SHARD_COUNT;
+    }
+
+    /**
+     * Report file name suffix, e.g. {@code -shard-2-of-4}; empty when not sharded.
+     */
+    public static String reportSuffix() {
+        return isSharded() ? "-shard-" + SHARD_INDEX + "-of-" + SHARD_COUNT : "";
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!isSharded()) {
+            return methods;
+        }
+        return methodsForShard(methods, context.getName(), SHARD_COUNT, SHARD_INDEX);
+    }
+
+    /**
+     * The methods of the {@code <test>} named {@code testName} that shard
+     * {@code shardIndex} of {@code shardCount} runs.
+     */
+    static List<IMethodInstance> methodsForShard(List<IMethodInstance> methods, String testName,
+                                                 int shardCount, int shardIndex) {
+        Map<String, String> parent = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            parent.put(instance.getMethod().getQualifiedName(), instance.getMethod().getQualifiedName());
+        }
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            for (String dependency : method.getMethodsDependedUpon()) {
+                union(parent, method.getQualifiedName(), dependency);
+            }
+            for (String group : method.getGroupsDependedUpon()) {
+                for (IMethodInstance other : methods) {
+                    if (Arrays.asList(other.getMethod().getGroups()).contains(group)) {
+                        union(parent, method.getQualifiedName(), other.getMethod().getQualifiedName());
+                    }
+                }
+            }
+        }
+
+        Map<String, Component> components = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            Component component = components.computeIfAbsent(
+                find(parent, method.getQualifiedName()), Component::new);
+            component.size++;
+            component.dataDriven |= method.isDataDriven();
+            if (method.getQualifiedName().compareTo(component.firstName) < 0) {
+                component.firstName = method.getQualifiedName();
+            }
+        }
+
+        // Largest units first onto the least loaded shard. Ties go to the first
+        // shard counted from an offset derived from the <test> name, so the
+        // suite's separate <test> blocks do not all start on shard 0.
+        List<Component> ordered = new ArrayList<>(components.values());
+        ordered.sort(Comparator.comparingInt((Component c) -> -c.size)
+            .thenComparing(c -> c.firstName));
+        int offset = Math.floorMod(testName.hashCode(), shardCount);
+        int[] load = new int[shardCount];
+        for (Component component : ordered) {
+            if (component.dataDriven) {
+                continue;
+            }
+            int best = offset;
+            for (int i = 1; i < shardCount; i++) {
+                int shard = (offset + i) % shardCount;
+                if (load[shard] < load[best]) {
+                    best = shard;
+                }
+            }
+            load[best] += component.size;
+            component.shard = best;
+        }
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            Component component = components.get(find(parent, instance.getMethod().getQualifiedName()));
+            if (component.dataDriven || component.shard == shardIndex) {
+                selected.add(instance);
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext context) {
+        return isSharded() ? rowsForShard(original) : original;
+    }
+
+    /**
+     * Rows whose index modulo {@code shard.count} equals {@code shard.index}.
+     */
+    public static Iterator<Object[]> rowsForShard(Iterator<Object[]> rows) {
+        return rowsForShard(rows, SHARD_COUNT, SHARD_INDEX);
+    }
+
+    static Iterator<Object[]> rowsForShard(Iterator<Object[]> rows, int shardCount, int shardIndex) {
+        return new Iterator<>() {
+            private long index;
+            private Object[] next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && rows.hasNext()) {
+                    Object[] row = rows.next();
+                    if (index++ % shardCount == shardIndex) {
+                        next = row;
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object[] row = next;
+                next = null;
+                return row;
+            }
+        };
+    }
+
+    private static String find(Map<String, String> parent, String name) {
+        String root = parent.getOrDefault(name, name);
+        while (!root.equals(parent.getOrDefault(root, root))) {
+            root = parent.get(root);
+        }
+        return root;
+    }
+
+    private static void union(Map<String, String> parent, String a, String b) {
+        // Dependencies outside this <test> cannot be moved and are ignored
+        if (!parent.containsKey(a) || !parent.containsKey(b)) {
+            return;
+        }
+        String rootA = find(parent, a);
+        String rootB = find(parent, b);
+        if (!rootA.equals(rootB)) {
+            if (rootA.compareTo(rootB) < 0) {
+                parent.put(rootB, rootA);
+            } else {
+                parent.put(rootA, rootB);
+            }
+        }
+    }
+
+    private static class Component {
+
+        private String firstName;
+        private int size;
+        private boolean dataDriven;
+        private int shard = -1;
+
+        Component(String root) {
+            this.firstName = root;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.youtrack.api.utils;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Reads JSON array responses element by element instead of materialising the
+ * whole body (e.g. {@code .as(Project[].class)}), so memory use does not grow
+ * with the size of the list.
+ *
+ * The request is sent with {@link ResponseBufferingFilter} switched off for the
+ * current thread, and the body is parsed straight from the connection with a
+ * Jackson {@link MappingIterator}. The connection returns to the pool once the
+ * iterator is exhausted or closed.
+ */
+public class StreamingJson {
+
+    private static final ThreadLocal<Boolean> streamingRequest = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Whether the request being sent on this thread will be read as a stream,
+     * in which case filters must not consume the response body.
+     */
+    public static boolean isStreamingRequest() {
+        return streamingRequest.get();
+    }
+
+    /**
+     * Sends {@code GET path}, checks for status 200 and passes every element
+     * of the returned array to {@code consumer}.
+     *
+     * @return number of elements consumed
+     */
+    public static <T> long forEach(RequestSpecification request, String path, Class<T> type,
+                                   Consumer<? super T> consumer) {
+        long count = 0;
+        try (MappingIterator<T> elements = openList(request, path, type)) {
+            while (elements.hasNextValue()) {
+                consumer.accept(elements.nextValue());
+                count++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + path + " response", e);
+        }
+        return count;
+    }
+
+    /**
+     * Sends {@code GET path}, checks for status 200 and returns an iterator
+     * over the elements of the returned array. The caller must exhaust or
+     * close it to release the connection.
+     */
+    public static <T> MappingIterator<T> openList(RequestSpecification request, String path,
+                                                  Class<T> type) {
+        Response response;
+        streamingRequest.set(true);
+        try {
+            response = request.get(path);
+        } finally {
+            streamingRequest.set(false);
+        }
+
+        if (response.getStatusCode() != 200) {
+            throw new AssertionError("Expected status code <200> but was <"
+                + response.getStatusCode() + "> for GET " + path + ": " + response.asString());
+        }
+        return iterate(response, type);
+    }
+
+    /**
+     * Iterates over the elements of a JSON array response body.
+     */
+    public static <T> MappingIterator<T> iterate(Response response, Class<T> type) {
+        try {
+            return JsonSupport.reader(type).readValues(response.asInputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse JSON list response", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.youtrack.api.utils;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+/**
+ * Starts the {@code timeout.suite.minutes} clock of {@link RequestDeadlines}
+ * with the suite and skips every test that would start after it has run out.
+ */
+public class SuiteDeadlineListener implements ISuiteListener, IInvokedMethodListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        RequestDeadlines.startSuite();
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod() && RequestDeadlines.isSuiteExpired()) {
+            throw new SkipException(RequestDeadlines.describeSuiteTimeout());
+        }
+    }
+}
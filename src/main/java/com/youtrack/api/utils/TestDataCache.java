@@ -0,0 +1,451 @@
+package com.youtrack.api.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.Cleaner;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide cache of parsed test data rows keyed by file path, variant
+ * (parser version and e.g. sheet name) and SHA-256 of the file content. Parsed
+ * rows can also be persisted as a compact binary snapshot that later runs
+ * memory-map instead of parsing the CSV/XLSX file again. {@code SNAPSHOT_VERSION}
+ * covers the snapshot layout; the parser version in the variant makes a change
+ * to how cells are mapped invalidate older snapshots.
+ *
+ * Supported cell types are String, Boolean, java.util.Date and null, which is
+ * everything the CSV and Excel providers produce.
+ */
+public class TestDataCache {
+
+    private static final int SNAPSHOT_MAGIC = 0x59544443; // "YTDC"
+    private static final byte SNAPSHOT_VERSION = 1;
+    private static final int END_OF_ROWS = -1;
+    // Temp files this old were left behind by a crashed or abandoned writer
+    private static final long STALE_TEMP_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_BOOLEAN = 2;
+    private static final byte TAG_DATE = 3;
+
+    private static final ConcurrentMap<String, CompletableFuture<Object[][]>> ROWS =
+        new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Path, Fingerprint> HASHES = new ConcurrentHashMap<>();
+    private static final Set<Path> SWEPT_DIRS = ConcurrentHashMap.newKeySet();
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /**
+     * Returns all rows of the file, parsing it at most once per process and
+     * content version.
+     */
+    public static Object[][] rows(String filePath, String variant,
+                                  Supplier<Iterator<Object[]>> parser) {
+        if (!ConfigReader.getBooleanProperty("test.data.cache.enabled", true)) {
+            return toArray(parser.get());
+        }
+
+        String key = cacheKey(filePath, variant);
+        CompletableFuture<Object[][]> loading = new CompletableFuture<>();
+        CompletableFuture<Object[][]> existing = ROWS.putIfAbsent(key, loading);
+
+        if (existing == null) {
+            try {
+                loading.complete(toArray(stream(filePath, variant, parser)));
+            } catch (RuntimeException e) {
+                ROWS.remove(key, loading);
+                loading.completeExceptionally(e);
+                throw e;
+            }
+            existing = loading;
+        }
+
+        return existing.join().clone();
+    }
+
+    /**
+     * Returns a lazy iterator over the rows of the file. Rows already cached in
+     * memory or in a snapshot are served without touching the source file;
+     * otherwise the file is parsed and, if snapshots are enabled, the rows are
+     * written to a new snapshot as they are consumed. Such an iterator is
+     * {@link Closeable}: closing it before the last row discards the partial
+     * snapshot, as does garbage collection of an abandoned one.
+     */
+    public static Iterator<Object[]> stream(String filePath, String variant,
+                                            Supplier<Iterator<Object[]>> parser) {
+        if (!ConfigReader.getBooleanProperty("test.data.cache.enabled", true)) {
+            return parser.get();
+        }
+
+        String key = cacheKey(filePath, variant);
+        CompletableFuture<Object[][]> cached = ROWS.get(key);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+            return Arrays.asList(cached.join()).iterator();
+        }
+
+        if (!ConfigReader.getBooleanProperty("test.data.snapshot.enabled", true)) {
+            return parser.get();
+        }
+
+        Path snapshot = snapshotPath(key);
+        if (Files.isRegularFile(snapshot)) {
+            try {
+                return new SnapshotIterator(snapshot);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Ignoring unreadable test data snapshot " + snapshot
+                    + ": " + e.getMessage());
+            }
+        }
+
+        sweepStaleTempFiles(snapshot.getParent());
+        try {
+            return new SnapshotWritingIterator(parser.get(), snapshot);
+        } catch (IOException e) {
+            System.err.println("Failed to create test data snapshot " + snapshot
+                + ": " + e.getMessage());
+            return parser.get();
+        }
+    }
+
+    private static Object[][] toArray(Iterator<Object[]> rows) {
+        List<Object[]> data = new ArrayList<>();
+        while (rows.hasNext()) {
+            data.add(rows.next());
+        }
+        return data.toArray(new Object[0][]);
+    }
+
+    private static String cacheKey(String filePath, String variant) {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        return path + "#" + variant + "@" + contentHash(path);
+    }
+
+    private static Path snapshotPath(String key) {
+        String dir = ConfigReader.getProperty("test.data.snapshot.dir");
+        return Paths.get(dir != null ? dir : "target/test-data-cache")
+            .resolve(sha256(key.getBytes(StandardCharsets.UTF_8)) + ".bin");
+    }
+
+    /**
+     * Deletes temp files left in the snapshot directory by earlier runs, once
+     * per directory and process.
+     */
+    private static void sweepStaleTempFiles(Path dir) {
+        if (!SWEPT_DIRS.add(dir) || !Files.isDirectory(dir)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - STALE_TEMP_MILLIS;
+        try (DirectoryStream<Path> temps = Files.newDirectoryStream(dir, "snapshot*.tmp")) {
+            for (Path temp : temps) {
+                if (Files.getLastModifiedTime(temp).toMillis() < cutoff) {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to delete stale test data snapshot files in " + dir
+                + ": " + e.getMessage());
+        }
+    }
+
+    private static String contentHash(Path path) {
+        try {
+            long size = Files.size(path);
+            long modified = Files.getLastModifiedTime(path).toMillis();
+
+            Fingerprint known = HASHES.get(path);
+            if (known != null && known.size == size && known.modified == modified) {
+                return known.hash;
+            }
+
+            MessageDigest digest = newDigest();
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = Files.newInputStream(path)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+
+            String hash = toHex(digest.digest());
+            HASHES.put(path, new Fingerprint(size, modified, hash));
+            return hash;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read test data file: " + path, e);
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        return toHex(newDigest().digest(data));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+               .append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static final class Fingerprint {
+        final long size;
+        final long modified;
+        final String hash;
+
+        Fingerprint(long size, long modified, String hash) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * Decodes rows lazily from a memory-mapped snapshot file.
+     */
+    private static final class SnapshotIterator implements Iterator<Object[]> {
+
+        private final Path snapshot;
+        private final MappedByteBuffer buffer;
+        private Object[] nextRow;
+
+        SnapshotIterator(Path snapshot) throws IOException {
+            this.snapshot = snapshot;
+            try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.get() != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported snapshot format");
+            }
+            nextRow = decodeRow();
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            return nextRow != null;
+        }
+
+        @Override
+        public synchronized Object[] next() {
+            if (nextRow == null) {
+                throw new NoSuchElementException("No more rows in snapshot: " + snapshot);
+            }
+            Object[] current = nextRow;
+            nextRow = decodeRow();
+            return current;
+        }
+
+        private Object[] decodeRow() {
+            try {
+                int cellCount = buffer.getInt();
+                if (cellCount == END_OF_ROWS) {
+                    return null;
+                }
+
+                Object[] row = new Object[cellCount];
+                for (int i = 0; i < cellCount; i++) {
+                    byte tag = buffer.get();
+                    switch (tag) {
+                        case TAG_NULL:
+                            row[i] = null;
+                            break;
+                        case TAG_STRING:
+                            byte[] bytes = new byte[buffer.getInt()];
+                            buffer.get(bytes);
+                            row[i] = new String(bytes, StandardCharsets.UTF_8);
+                            break;
+                        case TAG_BOOLEAN:
+                            row[i] = buffer.get() != 0;
+                            break;
+                        case TAG_DATE:
+                            row[i] = new Date(buffer.getLong());
+                            break;
+                        default:
+                            throw new IllegalStateException("Unknown cell tag " + tag);
+                    }
+                }
+                return row;
+            } catch (BufferUnderflowException e) {
+                throw new RuntimeException("Truncated test data snapshot: " + snapshot, e);
+            }
+        }
+    }
+
+    /**
+     * Passes parsed rows through while appending them to a temporary snapshot
+     * file, which is moved into place once the source has been fully consumed.
+     * The temp file is deleted if the iterator is closed early or becomes
+     * unreachable before that.
+     */
+    private static final class SnapshotWritingIterator implements Iterator<Object[]>, Closeable {
+
+        private final Iterator<Object[]> source;
+        private final Path snapshot;
+        private final PendingSnapshot pending;
+        private final Cleaner.Cleanable cleanable;
+
+        SnapshotWritingIterator(Iterator<Object[]> source, Path snapshot) throws IOException {
+            this.source = source;
+            this.snapshot = snapshot;
+            Files.createDirectories(snapshot.getParent());
+            Path tempFile = Files.createTempFile(snapshot.getParent(), "snapshot", ".tmp");
+
+            OutputStream file = Files.newOutputStream(tempFile);
+            this.pending = new PendingSnapshot(tempFile,
+                new DataOutputStream(new BufferedOutputStream(file, 64 * 1024)));
+            this.cleanable = CLEANER.register(this, pending);
+            try {
+                pending.out.writeInt(SNAPSHOT_MAGIC);
+                pending.out.writeByte(SNAPSHOT_VERSION);
+            } catch (IOException e) {
+                cleanable.clean();
+                throw e;
+            }
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            boolean hasNext = source.hasNext();
+            if (!hasNext) {
+                publish();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public synchronized Object[] next() {
+            Object[] row = source.next();
+            if (pending.out != null) {
+                try {
+                    encodeRow(row);
+                } catch (IOException | IllegalArgumentException e) {
+                    abandon(e);
+                }
+            }
+            return row;
+        }
+
+        /**
+         * Discards the snapshot unless every row has been read, and closes the
+         * source.
+         */
+        @Override
+        public synchronized void close() throws IOException {
+            cleanable.clean();
+            if (source instanceof Closeable) {
+                ((Closeable) source).close();
+            }
+        }
+
+        private void encodeRow(Object[] row) throws IOException {
+            DataOutputStream out = pending.out;
+            out.writeInt(row.length);
+            for (Object cell : row) {
+                if (cell == null) {
+                    out.writeByte(TAG_NULL);
+                } else if (cell instanceof String) {
+                    byte[] bytes = ((String) cell).getBytes(StandardCharsets.UTF_8);
+                    out.writeByte(TAG_STRING);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                } else if (cell instanceof Boolean) {
+                    out.writeByte(TAG_BOOLEAN);
+                    out.writeBoolean((Boolean) cell);
+                } else if (cell instanceof Date) {
+                    out.writeByte(TAG_DATE);
+                    out.writeLong(((Date) cell).getTime());
+                } else {
+                    throw new IllegalArgumentException(
+                        "Unsupported cell type: " + cell.getClass().getName());
+                }
+            }
+        }
+
+        private void publish() {
+            DataOutputStream out = pending.out;
+            if (out == null) {
+                return;
+            }
+            try {
+                out.writeInt(END_OF_ROWS);
+                out.close();
+                pending.out = null;
+                Files.move(pending.tempFile, snapshot, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                abandon(e);
+            }
+            cleanable.clean();
+        }
+
+        private void abandon(Exception cause) {
+            System.err.println("Discarding test data snapshot " + snapshot
+                + ": " + cause.getMessage());
+            cleanable.clean();
+        }
+    }
+
+    /**
+     * The temp file and stream of a snapshot being written. Runs at most once,
+     * through the iterator's {@link Cleaner.Cleanable}, and must not refer to
+     * the iterator itself.
+     */
+    private static final class PendingSnapshot implements Runnable {
+
+        private final Path tempFile;
+        private volatile DataOutputStream out;
+
+        PendingSnapshot(Path tempFile, DataOutputStream out) {
+            this.tempFile = tempFile;
+            this.out = out;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (out != null) {
+                    out.close();
+                    out = null;
+                }
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                System.err.println("Failed to delete test data snapshot file " + tempFile
+                    + ": " + e.getMessage());
+            }
+        }
+    }
+}
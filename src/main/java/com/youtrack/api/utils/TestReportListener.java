@@ -1,95 +1,257 @@
 package com.youtrack.api.utils;
 
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
-import java.io.FileWriter;
+import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
-public class TestReportListener implements ITestListener {
+/**
+ * Writes one report per TestNG {@code <test>} with that test's results and
+ * totals, and at the end of the suite a {@code test-report-<timestamp>-suite.*}
+ * report with the suite totals and the suite-wide sections (connection pool,
+ * latency, throttling, ...). Those statistics are process-wide, so they are
+ * reported once per suite rather than as running totals in every {@code <test>}.
+ */
+public class TestReportListener implements ITestListener, ISuiteListener {
 
-    private PrintWriter writer;
-    private int passedTests = 0;
-    private int failedTests = 0;
-    private int skippedTests = 0;
+    private final Map<ITestContext, Run> runs = new ConcurrentHashMap<>();
+    private final LongAdder suitePassed = new LongAdder();
+    private final LongAdder suiteFailed = new LongAdder();
+    private final LongAdder suiteSkipped = new LongAdder();
+    private volatile LocalDateTime suiteStartTime;
+
+    @Override
+    public void onStart(ISuite suite) {
+        suitePassed.reset();
+        suiteFailed.reset();
+        suiteSkipped.reset();
+        suiteStartTime = LocalDateTime.now();
+    }
 
     @Override
     public void onStart(ITestContext context) {
-        try {
-            String timestamp = LocalDateTime.now()
-                .format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String fileName = "test-report-" + timestamp + ".txt";
-            writer = new PrintWriter(new FileWriter(fileName));
+        List<ReportSink> started = startSinks(newBaseName(""), context.getName(), LocalDateTime.now());
+        runs.put(context, new Run(started, AsyncReportWriter.start(started,
+            ConfigReader.getIntProperty("report.queue.capacity", 10000))));
+    }
 
-            writer.println("=".repeat(80));
-            writer.println("YouTrack REST API Test Execution Report");
-            writer.println("Test Suite: " + context.getName());
-            writer.println("Start Time: " + LocalDateTime.now());
-            writer.println("=".repeat(80));
-            writer.println();
-        } catch (IOException e) {
-            System.err.println("Failed to create report file: " + e.getMessage());
-        }
+    @Override
+    public void onTestStart(ITestResult result) {
+        ConditionalLoggingFilter.forgetRecordedExchanges(result);
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
-        passedTests++;
-        writeTestResult(result, "PASSED");
+        ConditionalLoggingFilter.forgetRecordedExchanges(result);
+        record(result, "PASSED");
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        failedTests++;
-        writeTestResult(result, "FAILED");
-        if (result.getThrowable() != null) {
-            writer.println("Error Details:");
-            result.getThrowable().printStackTrace(writer);
-            writer.println();
-        }
+        ConditionalLoggingFilter.logRecordedExchanges(result);
+        record(result, "FAILED");
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
-        skippedTests++;
-        writeTestResult(result, "SKIPPED");
+        ConditionalLoggingFilter.forgetRecordedExchanges(result);
+        record(result, "SKIPPED");
     }
 
     @Override
     public void onFinish(ITestContext context) {
-        writer.println("\n" + "=".repeat(80));
-        writer.println("Test Execution Summary");
-        writer.println("=".repeat(80));
-        writer.println("Total Tests: " + (passedTests + failedTests + skippedTests));
-        writer.println("Passed: " + passedTests);
-        writer.println("Failed: " + failedTests);
-        writer.println("Skipped: " + skippedTests);
-        writer.println("Success Rate: " + 
-            String.format("%.2f%%", (passedTests * 100.0) / 
-            (passedTests + failedTests + skippedTests)));
-        writer.println("End Time: " + LocalDateTime.now());
-        writer.println("=".repeat(80));
-
-        writer.close();
+        Run run = runs.remove(context);
+        if (run == null) {
+            return;
+        }
+        run.writer.close();
+        suitePassed.add(run.passed.sum());
+        suiteFailed.add(run.failed.sum());
+        suiteSkipped.add(run.skipped.sum());
+
+        finishSinks(run.sinks, new ReportSummary(run.passed.sum(), run.failed.sum(), run.skipped.sum(),
+            LocalDateTime.now(), Map.of()));
+        AsyncLogWriter.flush(5000);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        List<ReportSink> sinks = startSinks(newBaseName("-suite"), suite.getName(),
+            suiteStartTime == null ? LocalDateTime.now() : suiteStartTime);
+        finishSinks(sinks, new ReportSummary(suitePassed.sum(), suiteFailed.sum(), suiteSkipped.sum(),
+            LocalDateTime.now(), suiteSections()));
+
+        if (ShardingInterceptor.isSharded() && !LatencyStats.isEmpty()) {
+            try {
+                LatencyStats.writeSnapshot(ReportMerger.latencySnapshotFile(new File("."),
+                    ShardingInterceptor.getShardIndex(), ShardingInterceptor.getShardCount()));
+            } catch (IOException e) {
+                System.err.println("Failed to write latency snapshot: " + e.getMessage());
+            }
+        }
+        AsyncLogWriter.flush(5000);
 
         System.out.println("\nTest report generated successfully!");
     }
 
-    private void writeTestResult(ITestResult result, String status) {
-        writer.println("-".repeat(80));
-        writer.println("Test: " + result.getMethod().getMethodName());
-        writer.println("Class: " + result.getTestClass().getRealClass().getSimpleName());
-        writer.println("Status: " + status);
-        writer.println("Duration: " + 
-            (result.getEndMillis() - result.getStartMillis()) + "ms");
+    /**
+     * Process-wide statistics, collected over the whole suite.
+     */
+    private static Map<String, String> suiteSections() {
+        Map<String, String> sections = new LinkedHashMap<>();
+        if (HttpClientPool.isInitialized()) {
+            sections.put("HTTP Connections", HttpClientPool.describeStats());
+        }
+        if (Http2Transport.hasActivity()) {
+            sections.put("HTTP/2 Transport", Http2Transport.describeStats());
+        }
+        for (LoadGenerator.LoadResult load : LoadGenerator.getResults()) {
+            sections.put("Load " + load.getName(), load.describe());
+        }
+        if (AdaptiveThrottle.hasActivity()) {
+            sections.put("Throttling", AdaptiveThrottle.describeStats());
+        }
+        if (RequestDeadlines.hasActivity()) {
+            sections.put("Timeouts", RequestDeadlines.describeStats());
+            sections.putAll(RequestDeadlines.describeSlowCalls());
+        }
+        if (ConfigReader.hasReloaded()) {
+            sections.put("Config", ConfigReader.describeReloads());
+        }
+        if (ResponseCache.hasActivity()) {
+            sections.put("Response Cache", ResponseCache.describeStats());
+        }
+        if (HttpCompression.hasActivity()) {
+            sections.put("Wire Bytes", HttpCompression.describe());
+        }
+        if (!LatencyStats.isEmpty()) {
+            sections.put("Endpoint Latency", LatencyStats.describe());
+        }
+        return sections;
+    }
+
+    private static String newBaseName(String kind) {
+        String timestamp = LocalDateTime.now()
+            .format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        return uniqueBaseName("test-report-" + timestamp + kind, ShardingInterceptor.reportSuffix());
+    }
+
+    private static List<ReportSink> startSinks(String baseName, String name, LocalDateTime startTime) {
+        List<ReportSink> started = new ArrayList<>();
+        for (ReportSink sink : createSinks(baseName, ShardingInterceptor.isSharded())) {
+            try {
+                sink.start(name, startTime);
+                started.add(sink);
+            } catch (IOException e) {
+                System.err.println("Failed to create report file: " + e.getMessage());
+            }
+        }
+        return started;
+    }
+
+    private static void finishSinks(List<ReportSink> sinks, ReportSummary summary) {
+        for (ReportSink sink : sinks) {
+            try {
+                sink.finish(summary);
+                sink.close();
+            } catch (IOException e) {
+                System.err.println("Failed to finish report: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sinks enabled by {@code report.formats}: any of {@code text}, {@code jsonl}
+     * and {@code junit}, comma separated. {@code requireJsonLines} adds the
+     * JSON lines sink if it is not listed; a sharded run needs it for
+     * {@link ReportMerger}.
+     */
+    static List<ReportSink> createSinks(String baseName, boolean requireJsonLines) {
+        String formats = ConfigReader.getProperty("report.formats");
+        if (formats == null) {
+            formats = "text";
+        }
+        if (requireJsonLines && !formats.toLowerCase(Locale.ROOT).contains("jsonl")) {
+            formats += ",jsonl";
+        }
+        List<ReportSink> created = new ArrayList<>();
+        for (String format : formats.split(",")) {
+            switch (format.trim().toLowerCase(Locale.ROOT)) {
+                case "text":
+                    created.add(new TextReportSink(baseName + ".txt"));
+                    break;
+                case "jsonl":
+                    created.add(new JsonLinesReportSink(baseName + ".jsonl"));
+                    break;
+                case "junit":
+                    created.add(new JUnitXmlReportSink(baseName + ".xml"));
+                    break;
+                case "":
+                    break;
+                default:
+                    System.err.println("Unknown report format: " + format);
+            }
+        }
+        return created;
+    }
 
-        if (result.getMethod().getDescription() != null) {
-            writer.println("Description: " + result.getMethod().getDescription());
+    /**
+     * onStart runs once per {@code <test>}; two starting within the same second
+     * get {@code -2}, {@code -3}, ... instead of overwriting each other's files.
+     */
+    private static String uniqueBaseName(String prefix, String suffix) {
+        String candidate = prefix + suffix;
+        for (int n = 2; new File(candidate + ".txt").exists() || new File(candidate + ".jsonl").exists()
+                || new File(candidate + ".xml").exists(); n++) {
+            candidate = prefix + "-" + n + suffix;
         }
+        return candidate;
+    }
 
-        writer.println();
+    private void record(ITestResult result, String status) {
+        Run run = runs.get(result.getTestContext());
+        if (run == null) {
+            return;
+        }
+        switch (status) {
+            case "PASSED":
+                run.passed.increment();
+                break;
+            case "FAILED":
+                run.failed.increment();
+                break;
+            default:
+                run.skipped.increment();
+        }
+        run.writer.submit(TestResultRecord.of(result, status));
+    }
+
+    /**
+     * Report files and counters of one {@code <test>}.
+     */
+    private static class Run {
+
+        private final List<ReportSink> sinks;
+        private final AsyncReportWriter writer;
+        private final LongAdder passed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+
+        Run(List<ReportSink> sinks, AsyncReportWriter writer) {
+            this.sinks = sinks;
+            this.writer = writer;
+        }
     }
 }
@@ -0,0 +1,103 @@
+package com.youtrack.api.utils;
+
+import org.testng.ITestResult;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * Immutable snapshot of a finished test, taken on the test thread so report
+ * sinks can format it later without touching TestNG objects.
+ */
+public class TestResultRecord {
+
+    private final String suiteName;
+    private final String className;
+    private final String qualifiedClassName;
+    private final String methodName;
+    private final String description;
+    private final String status;
+    private final long startMillis;
+    private final long endMillis;
+    private final String failureMessage;
+    private final String stackTrace;
+
+    public TestResultRecord(String suiteName, String qualifiedClassName, String methodName,
+                            String description, String status, long startMillis,
+                            long endMillis, String failureMessage, String stackTrace) {
+        this.suiteName = suiteName;
+        this.qualifiedClassName = qualifiedClassName;
+        this.className = qualifiedClassName.substring(qualifiedClassName.lastIndexOf('.') + 1);
+        this.methodName = methodName;
+        this.description = description;
+        this.status = status;
+        this.startMillis = startMillis;
+        this.endMillis = endMillis;
+        this.failureMessage = failureMessage;
+        this.stackTrace = stackTrace;
+    }
+
+    public static TestResultRecord of(ITestResult result, String status) {
+        Throwable throwable = result.getThrowable();
+        String stackTrace = null;
+        if (throwable != null) {
+            StringWriter trace = new StringWriter();
+            throwable.printStackTrace(new PrintWriter(trace));
+            stackTrace = trace.toString();
+        }
+
+        return new TestResultRecord(
+            result.getTestContext() != null ? result.getTestContext().getName() : null,
+            result.getTestClass().getRealClass().getName(),
+            result.getMethod().getMethodName(),
+            result.getMethod().getDescription(),
+            status,
+            result.getStartMillis(),
+            result.getEndMillis(),
+            throwable != null ? throwable.toString() : null,
+            stackTrace);
+    }
+
+    public String getSuiteName() {
+        return suiteName;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getQualifiedClassName() {
+        return qualifiedClassName;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    public long getEndMillis() {
+        return endMillis;
+    }
+
+    public long getDurationMillis() {
+        return endMillis - startMillis;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    public String getStackTrace() {
+        return stackTrace;
+    }
+}
@@ -0,0 +1,84 @@
+package com.youtrack.api.utils;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Human readable report, the original test-report-*.txt format.
+ */
+public class TextReportSink implements ReportSink {
+
+    private final String fileName;
+    private PrintWriter writer;
+
+    public TextReportSink(String fileName) {
+        this.fileName = fileName;
+    }
+
+    @Override
+    public void start(String suiteName, LocalDateTime startTime) throws IOException {
+        writer = new PrintWriter(new BufferedWriter(new FileWriter(fileName)));
+
+        writer.println("=".repeat(80));
+        writer.println("YouTrack REST API Test Execution Report");
+        writer.println("Test Suite: " + suiteName);
+        writer.println("Start Time: " + startTime);
+        writer.println("=".repeat(80));
+        writer.println();
+        writer.flush();
+    }
+
+    @Override
+    public void record(TestResultRecord record) {
+        writer.println("-".repeat(80));
+        writer.println("Test: " + record.getMethodName());
+        writer.println("Class: " + record.getClassName());
+        writer.println("Status: " + record.getStatus());
+        writer.println("Duration: " + record.getDurationMillis() + "ms");
+
+        if (record.getDescription() != null) {
+            writer.println("Description: " + record.getDescription());
+        }
+
+        writer.println();
+
+        if (record.getStackTrace() != null && "FAILED".equals(record.getStatus())) {
+            writer.println("Error Details:");
+            writer.print(record.getStackTrace());
+            writer.println();
+        }
+    }
+
+    @Override
+    public void flush() {
+        writer.flush();
+    }
+
+    @Override
+    public void finish(ReportSummary summary) {
+        writer.println("\n" + "=".repeat(80));
+        writer.println("Test Execution Summary");
+        writer.println("=".repeat(80));
+        writer.println("Total Tests: " + summary.getTotal());
+        writer.println("Passed: " + summary.getPassed());
+        writer.println("Failed: " + summary.getFailed());
+        writer.println("Skipped: " + summary.getSkipped());
+        writer.println("Success Rate: " + String.format("%.2f%%", summary.getSuccessRate()));
+        writer.println("End Time: " + summary.getEndTime());
+        for (Map.Entry<String, String> section : summary.getSections().entrySet()) {
+            writer.println(section.getKey() + ": " + section.getValue());
+        }
+        writer.println("=".repeat(80));
+    }
+
+    @Override
+    public void close() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.youtrack.api.utils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds an {@link AdaptiveThrottle} permit for the duration of each request,
+ * waiting for one when the concurrency limit or the rate is exhausted. The
+ * final status code (after any retries) feeds the limit's additive increase.
+ * The wait ends at the request's {@link RequestDeadlines} deadline.
+ * Does nothing with {@code throttle.enabled=false}.
+ */
+public class ThrottlingFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!AdaptiveThrottle.isEnabled()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        try {
+            if (!AdaptiveThrottle.tryAcquire(RequestDeadlines.remainingNanos(), TimeUnit.NANOSECONDS)) {
+                throw new IllegalStateException(requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath()
+                    + " timed out waiting for a request permit (concurrency limit "
+                    + AdaptiveThrottle.getConcurrencyLimit() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a request permit", e);
+        }
+        int status = 0;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            status = response.getStatusCode();
+            return response;
+        } finally {
+            AdaptiveThrottle.release(status);
+        }
+    }
+}
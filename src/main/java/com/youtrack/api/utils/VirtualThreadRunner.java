@@ -0,0 +1,121 @@
+package com.youtrack.api.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs one task per data row, each on its own virtual thread, with at most
+ * {@code maxInFlight} rows in progress. Rows are pulled from the iterator only
+ * when a permit is free, so streaming data providers stay lazy.
+ *
+ * Blocking HTTP calls park the virtual thread instead of an OS thread, so
+ * thousands of requests can be in flight from one JVM. Note that the HTTP pool
+ * ({@code http.pool.max.per.route}) still caps concurrent connections.
+ */
+public class VirtualThreadRunner {
+
+    private static final int MAX_RECORDED_FAILURES = 20;
+
+    private final int maxInFlight;
+
+    public VirtualThreadRunner(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1: " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+    }
+
+    public RunSummary run(Iterator<Object[]> rows, RowTask task) {
+        Semaphore permits = new Semaphore(maxInFlight);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        LongAdder failed = new LongAdder();
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        long submitted = 0;
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("data-row-", 0).factory())) {
+            while (rows.hasNext()) {
+                permits.acquire();
+                Object[] row = rows.next();
+                submitted++;
+
+                executor.execute(ConditionalLoggingFilter.inCurrentTest(() -> {
+                    peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        task.run(row);
+                    } catch (Exception | AssertionError e) {
+                        failed.increment();
+                        if (failures.size() < MAX_RECORDED_FAILURES) {
+                            failures.add(Arrays.toString(row) + ": " + e);
+                        }
+                    } finally {
+                        inFlight.decrementAndGet();
+                        permits.release();
+                    }
+                }));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while dispatching data rows", e);
+        }
+
+        return new RunSummary(submitted, failed.sum(), peakInFlight.get(),
+            System.nanoTime() - start, new ArrayList<>(failures));
+    }
+
+    @FunctionalInterface
+    public interface RowTask {
+        void run(Object[] row) throws Exception;
+    }
+
+    public static class RunSummary {
+
+        private final long rows;
+        private final long failed;
+        private final int peakInFlight;
+        private final long wallNanos;
+        private final List<String> failures;
+
+        RunSummary(long rows, long failed, int peakInFlight, long wallNanos, List<String> failures) {
+            this.rows = rows;
+            this.failed = failed;
+            this.peakInFlight = peakInFlight;
+            this.wallNanos = wallNanos;
+            this.failures = failures;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public int getPeakInFlight() {
+            return peakInFlight;
+        }
+
+        /**
+         * First failures (row and error), at most 20.
+         */
+        public List<String> getFailures() {
+            return failures;
+        }
+
+        public String describe() {
+            return String.format("rows %d, failed %d, peak in-flight %d, wall time %d ms",
+                rows, failed, peakInFlight, wallNanos / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.youtrack.api.utils;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Pull-based reader over a single XLSX sheet. Rows are parsed from the sheet XML
+ * on demand (StAX over the package part, shared strings via the read-only table),
+ * so the workbook DOM is never built. Cell values follow the same mapping as
+ * {@code ExcelDataProvider.getCellValue}; the header row (row 1) is skipped.
+ */
+class XlsxRowIterator implements Iterator<Object[]>, Closeable {
+
+    private final String filePath;
+    private final OPCPackage pkg;
+    private final InputStream sheetStream;
+    private final XMLStreamReader parser;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final boolean date1904;
+
+    private Object[] nextRow;
+    private boolean closed;
+
+    XlsxRowIterator(String filePath, String sheetName) {
+        this.filePath = filePath;
+        try {
+            pkg = OPCPackage.open(new File(filePath), PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new RuntimeException("Failed to read Excel file: " + filePath, e);
+        }
+
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            styles = reader.getStylesTable();
+            date1904 = isDate1904(reader);
+            sheetStream = findSheet(reader, sheetName);
+            parser = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheetStream);
+        } catch (IOException | OpenXML4JException | SAXException | XMLStreamException e) {
+            closeQuietly(e);
+            throw new RuntimeException("Failed to read Excel file: " + filePath, e);
+        } catch (RuntimeException e) {
+            closeQuietly(e);
+            throw e;
+        }
+
+        nextRow = readRow();
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        return nextRow != null;
+    }
+
+    @Override
+    public synchronized Object[] next() {
+        if (nextRow == null) {
+            throw new NoSuchElementException("No more rows in Excel file: " + filePath);
+        }
+        Object[] current = nextRow;
+        nextRow = readRow();
+        return current;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (parser != null) {
+                parser.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            try {
+                if (sheetStream != null) {
+                    sheetStream.close();
+                }
+            } finally {
+                pkg.revert();
+            }
+        }
+    }
+
+    private Object[] readRow() {
+        if (closed) {
+            return null;
+        }
+        try {
+            Object[] row;
+            do {
+                row = parseNextRow();
+            } while (row != null && row.length == 0);
+
+            if (row == null) {
+                close();
+            }
+            return row;
+        } catch (IOException | XMLStreamException e) {
+            closeQuietly(e);
+            throw new RuntimeException("Failed to read Excel file: " + filePath, e);
+        }
+    }
+
+    /**
+     * Advances to the end of the next {@code <row>} element. Returns an empty array
+     * for rows that must be skipped (header row, rows without cells) and
+     * {@code null} at the end of the sheet.
+     */
+    private Object[] parseNextRow() throws XMLStreamException {
+        int rowIndex = -1;
+        int lastColumn = -1;
+        List<Object> cells = null;
+
+        String cellType = null;
+        String cellStyle = null;
+        int cellColumn = -1;
+        String value = null;
+        String formula = null;
+        StringBuilder inlineText = null;
+
+        while (parser.hasNext()) {
+            int event = parser.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (parser.getLocalName()) {
+                    case "row":
+                        String rowRef = parser.getAttributeValue(null, "r");
+                        rowIndex = rowRef != null ? Integer.parseInt(rowRef) - 1 : rowIndex + 1;
+                        cells = new ArrayList<>();
+                        lastColumn = -1;
+                        break;
+                    case "c":
+                        String cellRef = parser.getAttributeValue(null, "r");
+                        cellColumn = cellRef != null
+                            ? new CellReference(cellRef).getCol() : lastColumn + 1;
+                        cellType = parser.getAttributeValue(null, "t");
+                        cellStyle = parser.getAttributeValue(null, "s");
+                        value = null;
+                        formula = null;
+                        inlineText = null;
+                        break;
+                    case "v":
+                        value = parser.getElementText();
+                        break;
+                    case "f":
+                        formula = parser.getElementText();
+                        break;
+                    case "is":
+                        inlineText = new StringBuilder();
+                        break;
+                    case "t":
+                        if (inlineText != null) {
+                            inlineText.append(parser.getElementText());
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String name = parser.getLocalName();
+                if ("c".equals(name) && cells != null) {
+                    while (cells.size() < cellColumn) {
+                        cells.add("");
+                    }
+                    cells.add(cellValue(cellType, cellStyle, value, formula, inlineText));
+                    lastColumn = cellColumn;
+                } else if ("row".equals(name)) {
+                    // Skip header row
+                    if (rowIndex == 0 || cells == null) {
+                        return new Object[0];
+                    }
+                    return cells.toArray();
+                }
+            }
+        }
+        return null;
+    }
+
+    private Object cellValue(String type, String style, String value,
+                             String formula, StringBuilder inlineText) {
+        if (formula != null) {
+            // Shared-formula followers carry no text of their own
+            return formula;
+        }
+        if ("s".equals(type)) {
+            return value == null ? "" : sharedStrings.getItemAt(Integer.parseInt(value)).getString();
+        }
+        if ("inlineStr".equals(type)) {
+            return inlineText == null ? "" : inlineText.toString();
+        }
+        if ("str".equals(type)) {
+            return value == null ? "" : value;
+        }
+        if ("b".equals(type)) {
+            return value == null ? "" : (Object) "1".equals(value);
+        }
+        if (value == null || value.isEmpty() || "e".equals(type)) {
+            return "";
+        }
+
+        double number = Double.parseDouble(value);
+        if (isDateFormatted(style) && DateUtil.isValidExcelDate(number)) {
+            return DateUtil.getJavaDate(number, date1904);
+        }
+        return String.valueOf((int) number);
+    }
+
+    private boolean isDateFormatted(String style) {
+        if (style == null || styles == null) {
+            return false;
+        }
+        XSSFCellStyle cellStyle = styles.getStyleAt(Integer.parseInt(style));
+        return cellStyle != null
+            && DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString());
+    }
+
+    private static InputStream findSheet(XSSFReader reader, String sheetName)
+            throws IOException, OpenXML4JException {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            InputStream sheet = sheets.next();
+            if (sheetName.equals(sheets.getSheetName())) {
+                return sheet;
+            }
+            sheet.close();
+        }
+        throw new RuntimeException("Sheet not found: " + sheetName);
+    }
+
+    private static boolean isDate1904(XSSFReader reader)
+            throws IOException, OpenXML4JException, XMLStreamException {
+        try (InputStream workbook = reader.getWorkbookData()) {
+            XMLStreamReader wb = XMLHelper.newXMLInputFactory().createXMLStreamReader(workbook);
+            try {
+                while (wb.hasNext()) {
+                    if (wb.next() == XMLStreamConstants.START_ELEMENT) {
+                        String name = wb.getLocalName();
+                        if ("workbookPr".equals(name)) {
+                            String flag = wb.getAttributeValue(null, "date1904");
+                            return "1".equals(flag) || "true".equalsIgnoreCase(flag);
+                        }
+                        if ("sheets".equals(name)) {
+                            return false;
+                        }
+                    }
+                }
+                return false;
+            } finally {
+                wb.close();
+            }
+        }
+    }
+
+    private void closeQuietly(Exception cause) {
+        try {
+            close();
+        } catch (IOException | RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+}
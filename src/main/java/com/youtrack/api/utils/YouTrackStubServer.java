@@ -0,0 +1,568 @@
+package com.youtrack.api.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-process stand-in for the parts of the YouTrack REST API the tests use:
+ * {@code /issues}, {@code /issues/{id}}, {@code /admin/projects} and
+ * {@code /users/me}. Issues live in a concurrent in-memory map, every request
+ * is handled on its own virtual thread, and validation follows what
+ * {@code NegativeTests} expects from the real server:
+ * <ul>
+ *   <li>401 without the configured {@code auth.token};</li>
+ *   <li>400 when an issue is created without a project, with an unknown
+ *       project or with an empty summary;</li>
+ *   <li>400 when a summary is updated to an empty string;</li>
+ *   <li>400 for a custom field with an unknown {@code $type};</li>
+ *   <li>404 for an unknown issue.</li>
+ * </ul>
+ * The {@code fields} and {@code $skip}/{@code $top} query parameters are
+ * honoured, and {@code GET /issues} understands the {@code project:} and
+ * {@code summary:} terms of {@code query}; other search terms are rejected
+ * with 400. Without {@code fields} the whole entity is returned. GET responses
+ * carry an {@code ETag} and are answered with 304 when {@code If-None-Match}
+ * matches it. Bodies of 1 KB and more are gzipped for clients that accept it,
+ * and gzipped request bodies ({@code Content-Encoding: gzip}) are accepted.
+ *
+ * Enabled with {@code stub.enabled=true}; {@code stub.port=0} picks a free port.
+ */
+public class YouTrackStubServer {
+
+    private static final Set<String> CUSTOM_FIELD_TYPES = new HashSet<>(Arrays.asList(
+        "SingleEnumIssueCustomField", "MultiEnumIssueCustomField",
+        "StateIssueCustomField", "StateMachineIssueCustomField",
+        "SingleUserIssueCustomField", "MultiUserIssueCustomField",
+        "SingleVersionIssueCustomField", "MultiVersionIssueCustomField",
+        "SingleBuildIssueCustomField", "MultiBuildIssueCustomField",
+        "SingleOwnedIssueCustomField", "MultiOwnedIssueCustomField",
+        "SingleGroupIssueCustomField", "MultiGroupIssueCustomField",
+        "TextIssueCustomField", "SimpleIssueCustomField",
+        "DateIssueCustomField", "PeriodIssueCustomField"));
+
+    // Like most servers, small bodies are sent uncompressed
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    private static YouTrackStubServer shared;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, ObjectNode> issues = new ConcurrentSkipListMap<>(
+        Comparator.comparingLong(YouTrackStubServer::issueNumber).thenComparing(Comparator.naturalOrder()));
+    private final Map<String, String> idsByReadableId = new ConcurrentHashMap<>();
+    private final AtomicLong issueSequence = new AtomicLong();
+    private final Map<String, ObjectNode> projects = new LinkedHashMap<>();
+    private final String apiBasePath;
+    private final String expectedAuthorization;
+
+    private static final Pattern SEARCH_TERM =
+        Pattern.compile("\\s*(project|summary):\\s*(?:\\{([^}]*)\\}|([^\\s{}]+))\\s*", Pattern.CASE_INSENSITIVE);
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public YouTrackStubServer(String apiBasePath, String authToken,
+                              String projectId, String projectName) {
+        this.apiBasePath = apiBasePath == null ? "" : apiBasePath;
+        this.expectedAuthorization = "Bearer " + authToken;
+
+        ObjectNode project = mapper.createObjectNode();
+        project.put("id", projectId);
+        project.put("name", projectName);
+        project.put("shortName", "TP");
+        project.put("$type", "Project");
+        projects.put(projectId, project);
+    }
+
+    /**
+     * The stub shared by all test classes, started on first use from
+     * {@code config.properties} and stopped when the JVM exits.
+     */
+    public static synchronized YouTrackStubServer shared() {
+        if (shared == null) {
+            YouTrackStubServer stub = new YouTrackStubServer(
+                ConfigReader.getApiBasePath(),
+                ConfigReader.getAuthToken(),
+                ConfigReader.getTestProjectId(),
+                ConfigReader.getProperty("test.project.name"));
+            stub.start(ConfigReader.getIntProperty("stub.port", 0));
+            Runtime.getRuntime().addShutdownHook(new Thread(stub::stop, "youtrack-stub-shutdown"));
+            shared = stub;
+        }
+        return shared;
+    }
+
+    /**
+     * Starts the server on {@code port}, or on a free port when it is 0. Turns
+     * on TCP_NODELAY through the JVM-wide {@code sun.net.httpserver.nodelay}
+     * property, unless it is already set, so an explicit
+     * {@code -Dsun.net.httpserver.nodelay=false} is kept.
+     */
+    public void start(int port) {
+        // Without TCP_NODELAY the JDK server sends headers and body in separate
+        // packets and every response waits ~40 ms for the client's delayed ACK.
+        // The flag is read once, when the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        try {
+            server = HttpServer.create(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start YouTrack stub server: " + e.getMessage(), e);
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdown();
+            server = null;
+        }
+    }
+
+    /**
+     * Value for {@code base.url}: scheme, host and port, without the API path.
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public int getIssueCount() {
+        return issues.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                dispatch(exchange);
+            } catch (StubException e) {
+                sendError(exchange, e.status, e.getMessage());
+            } catch (RuntimeException e) {
+                sendError(exchange, 500, String.valueOf(e.getMessage()));
+            }
+        }
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (!path.startsWith(apiBasePath + "/")) {
+            sendError(exchange, 404, "Not Found");
+            return;
+        }
+        if (!expectedAuthorization.equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+            sendError(exchange, 401, "Unauthorized");
+            return;
+        }
+
+        String[] segments = path.substring(apiBasePath.length() + 1).split("/");
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        String method = exchange.getRequestMethod();
+
+        if (segments.length == 2 && segments[0].equals("users") && segments[1].equals("me")) {
+            requireMethod(method, "GET");
+            send(exchange, 200, project(currentUser(), query));
+        } else if (segments.length == 2 && segments[0].equals("admin") && segments[1].equals("projects")) {
+            requireMethod(method, "GET");
+            send(exchange, 200, project(page(new ArrayList<>(projects.values()), query), query));
+        } else if (segments.length == 1 && segments[0].equals("issues")) {
+            if ("GET".equals(method)) {
+                send(exchange, 200, project(page(search(snapshotIssues(), query.get("query")), query), query));
+            } else {
+                requireMethod(method, "POST");
+                send(exchange, 200, project(createIssue(readBody(exchange)), query));
+            }
+        } else if (segments.length == 2 && segments[0].equals("issues")) {
+            ObjectNode issue = findIssue(segments[1]);
+            if ("GET".equals(method)) {
+                send(exchange, 200, project(snapshot(issue), query));
+            } else if ("DELETE".equals(method)) {
+                issues.remove(issue.get("id").asText());
+                idsByReadableId.remove(issue.get("idReadable").asText());
+                send(exchange, 200, null);
+            } else {
+                requireMethod(method, "POST");
+                send(exchange, 200, project(updateIssue(issue, readBody(exchange)), query));
+            }
+        } else {
+            sendError(exchange, 404, "Not Found");
+        }
+    }
+
+    private ObjectNode createIssue(JsonNode body) {
+        JsonNode project = body.path("project");
+        if (!project.isObject() || !project.hasNonNull("id")) {
+            throw new StubException(400, "Project is required");
+        }
+        ObjectNode knownProject = projects.get(project.get("id").asText());
+        if (knownProject == null) {
+            throw new StubException(400, "Project not found: " + project.get("id").asText());
+        }
+        String summary = body.path("summary").asText("");
+        if (summary.trim().isEmpty()) {
+            throw new StubException(400, "Summary is required");
+        }
+        ArrayNode customFields = validateCustomFields(body.path("customFields"));
+
+        long number = issueSequence.incrementAndGet();
+        ObjectNode issue = mapper.createObjectNode();
+        issue.put("id", "2-" + number);
+        issue.put("idReadable", knownProject.get("shortName").asText() + "-" + number);
+        issue.put("summary", summary);
+        issue.set("description", body.path("description").isTextual() ? body.get("description") : null);
+        issue.set("project", knownProject.deepCopy());
+        issue.set("customFields", customFields);
+        issue.put("created", System.currentTimeMillis());
+        issue.put("updated", System.currentTimeMillis());
+        issue.put("$type", "Issue");
+        issues.put(issue.get("id").asText(), issue);
+        idsByReadableId.put(issue.get("idReadable").asText(), issue.get("id").asText());
+        return issue.deepCopy();
+    }
+
+    private ObjectNode updateIssue(ObjectNode issue, JsonNode body) {
+        JsonNode summary = body.path("summary");
+        if (summary.isTextual() && summary.asText().trim().isEmpty()) {
+            throw new StubException(400, "Summary cannot be empty");
+        }
+        ArrayNode customFields = body.hasNonNull("customFields")
+            ? validateCustomFields(body.get("customFields")) : null;
+
+        synchronized (issue) {
+            if (summary.isTextual()) {
+                issue.put("summary", summary.asText());
+            }
+            if (body.path("description").isTextual()) {
+                issue.set("description", body.get("description"));
+            }
+            if (customFields != null) {
+                issue.set("customFields", customFields);
+            }
+            issue.put("updated", System.currentTimeMillis());
+            return issue.deepCopy();
+        }
+    }
+
+    private ArrayNode validateCustomFields(JsonNode customFields) {
+        ArrayNode validated = mapper.createArrayNode();
+        if (customFields.isMissingNode() || customFields.isNull()) {
+            return validated;
+        }
+        if (!customFields.isArray()) {
+            throw new StubException(400, "customFields must be an array");
+        }
+        for (JsonNode field : customFields) {
+            String type = field.path("$type").asText("");
+            if (!CUSTOM_FIELD_TYPES.contains(type)) {
+                throw new StubException(400, "Unknown custom field type: " + type);
+            }
+            if (!field.hasNonNull("name")) {
+                throw new StubException(400, "Custom field name is required");
+            }
+            validated.add(field.deepCopy());
+        }
+        return validated;
+    }
+
+    private ObjectNode findIssue(String idOrReadableId) {
+        String id = idsByReadableId.getOrDefault(idOrReadableId, idOrReadableId);
+        ObjectNode issue = issues.get(id);
+        if (issue == null) {
+            throw new StubException(404, "Entity with id " + idOrReadableId + " not found");
+        }
+        return issue;
+    }
+
+    /**
+     * Stored issues are updated in place under their own lock, so responses
+     * are built from copies.
+     */
+    private static ObjectNode snapshot(ObjectNode issue) {
+        synchronized (issue) {
+            return issue.deepCopy();
+        }
+    }
+
+    private List<ObjectNode> snapshotIssues() {
+        List<ObjectNode> snapshots = new ArrayList<>();
+        for (ObjectNode issue : issues.values()) {
+            snapshots.add(snapshot(issue));
+        }
+        return snapshots;
+    }
+
+    private ObjectNode currentUser() {
+        ObjectNode user = mapper.createObjectNode();
+        user.put("id", "1-1");
+        user.put("login", "stub");
+        user.put("fullName", "Stub User");
+        user.put("email", "stub@localhost");
+        user.put("$type", "Me");
+        return user;
+    }
+
+    /**
+     * Keeps the issues matching every {@code project: X} (name, short name or id,
+     * braces for names with spaces) and {@code summary: word} term.
+     */
+    private static List<ObjectNode> search(List<ObjectNode> issues, String query) {
+        if (query == null || query.isBlank()) {
+            return issues;
+        }
+        String terms = query.trim();
+        Matcher term = SEARCH_TERM.matcher(terms);
+        List<ObjectNode> found = new ArrayList<>(issues);
+        int end = 0;
+        while (term.lookingAt()) {
+            String value = (term.group(2) != null ? term.group(2) : term.group(3)).toLowerCase(Locale.ROOT);
+            if ("project".equalsIgnoreCase(term.group(1))) {
+                found.removeIf(issue -> {
+                    JsonNode project = issue.path("project");
+                    return !value.equalsIgnoreCase(project.path("name").asText())
+                        && !value.equalsIgnoreCase(project.path("shortName").asText())
+                        && !value.equalsIgnoreCase(project.path("id").asText());
+                });
+            } else {
+                found.removeIf(issue -> !Arrays.asList(
+                    issue.path("summary").asText().toLowerCase(Locale.ROOT).split("\\W+")).contains(value));
+            }
+            end = term.end();
+            term.region(end, terms.length());
+        }
+        if (end != terms.length()) {
+            throw new StubException(400, "Unsupported query: " + query);
+        }
+        return found;
+    }
+
+    private ArrayNode page(List<ObjectNode> entities, Map<String, String> query) {
+        int skip = parseInt(query.get("$skip"), 0);
+        int top = parseInt(query.get("$top"), Integer.MAX_VALUE);
+        ArrayNode page = mapper.createArrayNode();
+        for (int i = skip; i < entities.size() && page.size() < top; i++) {
+            page.add(entities.get(i));
+        }
+        return page;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            throw new StubException(400, "Invalid number: " + value);
+        }
+    }
+
+    private JsonNode project(JsonNode entity, Map<String, String> query) {
+        String fields = query.get("fields");
+        return fields == null ? entity : selectFields(entity, parseFields(fields));
+    }
+
+    /**
+     * Keeps only the requested fields (plus {@code $type}), recursing into
+     * nested objects and arrays.
+     */
+    private JsonNode selectFields(JsonNode node, Map<String, Map<String, ?>> fields) {
+        if (node.isArray()) {
+            ArrayNode projected = mapper.createArrayNode();
+            for (JsonNode element : node) {
+                projected.add(selectFields(element, fields));
+            }
+            return projected;
+        }
+        if (!node.isObject()) {
+            return node;
+        }
+        ObjectNode projected = mapper.createObjectNode();
+        for (Map.Entry<String, Map<String, ?>> field : fields.entrySet()) {
+            JsonNode value = node.get(field.getKey());
+            if (value != null) {
+                projected.set(field.getKey(), field.getValue() == null
+                    ? value : selectFields(value, castFields(field.getValue())));
+            }
+        }
+        if (node.has("$type")) {
+            projected.set("$type", node.get("$type"));
+        }
+        return projected;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, ?>> castFields(Map<String, ?> fields) {
+        return (Map<String, Map<String, ?>>) fields;
+    }
+
+    /**
+     * Parses YouTrack's field syntax, e.g. {@code id,summary,project(id,name)},
+     * into a tree; a {@code null} value is a leaf field.
+     */
+    static Map<String, Map<String, ?>> parseFields(String fields) {
+        int[] position = {0};
+        return parseFieldList(fields, position);
+    }
+
+    private static Map<String, Map<String, ?>> parseFieldList(String fields, int[] position) {
+        Map<String, Map<String, ?>> parsed = new LinkedHashMap<>();
+        StringBuilder name = new StringBuilder();
+        while (position[0] < fields.length()) {
+            char c = fields.charAt(position[0]++);
+            if (c == ',') {
+                addField(parsed, name, null);
+            } else if (c == '(') {
+                addField(parsed, name, parseFieldList(fields, position));
+            } else if (c == ')') {
+                break;
+            } else if (!Character.isWhitespace(c)) {
+                name.append(c);
+            }
+        }
+        addField(parsed, name, null);
+        return parsed;
+    }
+
+    private static void addField(Map<String, Map<String, ?>> parsed, StringBuilder name,
+                                 Map<String, Map<String, ?>> children) {
+        if (name.length() > 0) {
+            parsed.put(name.toString(), children);
+            name.setLength(0);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> query = new LinkedHashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.put(key, value);
+        }
+        return query;
+    }
+
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        InputStream raw = exchange.getRequestBody();
+        if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            raw = new GZIPInputStream(raw);
+        }
+        try (InputStream body = raw) {
+            JsonNode parsed = mapper.readTree(body);
+            if (parsed == null || !parsed.isObject()) {
+                throw new StubException(400, "Request body must be a JSON object");
+            }
+            return parsed;
+        } catch (JsonProcessingException e) {
+            throw new StubException(400, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!expected.equals(method)) {
+            throw new StubException(405, "Method not allowed: " + method);
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String description) throws IOException {
+        ObjectNode error = mapper.createObjectNode();
+        error.put("error", status == 401 ? "Unauthorized" : status == 404 ? "Not Found" : "bad_request");
+        error.put("error_description", description);
+        send(exchange, status, error);
+    }
+
+    private void send(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = body == null ? new byte[0] : mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        if (status == 200 && "GET".equals(exchange.getRequestMethod())) {
+            String etag = etag(bytes);
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+        }
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (bytes.length >= GZIP_MIN_BYTES && acceptEncoding != null
+                && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static String etag(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return "\"" + Long.toHexString(crc.getValue()) + "-" + body.length + "\"";
+    }
+
+    private static long issueNumber(String id) {
+        int dash = id.lastIndexOf('-');
+        try {
+            return Long.parseLong(id.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static class StubException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        StubException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -1,17 +1,34 @@
 package com.youtrack.api.tests;
 
+import com.youtrack.api.utils.CompressionFilter;
+import com.youtrack.api.utils.ConditionalLoggingFilter;
 import com.youtrack.api.utils.ConfigReader;
+import com.youtrack.api.utils.CreatedIssueRegistry;
+import com.youtrack.api.utils.DeadlineFilter;
+import com.youtrack.api.utils.Http2TransportFilter;
+import com.youtrack.api.utils.HttpClientPool;
+import com.youtrack.api.utils.IssueCleaner;
+import com.youtrack.api.utils.IssueRegistrationFilter;
+import com.youtrack.api.utils.JsonSupport;
+import com.youtrack.api.utils.LatencyRecordingFilter;
+import com.youtrack.api.utils.ResponseBufferingFilter;
+import com.youtrack.api.utils.ResponseCachingFilter;
+import com.youtrack.api.utils.ThrottlingFilter;
+import com.youtrack.api.utils.YouTrackStubServer;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
-import io.restassured.filter.log.RequestLoggingFilter;
-import io.restassured.filter.log.ResponseLoggingFilter;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
-import org.testng.annotations.BeforeMethod;
+import java.util.List;
 
 public class BaseTest {
 
+    private static volatile RequestSpecification sharedRequestSpec;
+
     protected RequestSpecification requestSpec;
     protected String baseUrl;
     protected String authToken;
@@ -19,23 +36,80 @@ public class BaseTest {
 
     @BeforeClass(alwaysRun = true)
     public void setupClass() {
-        baseUrl = ConfigReader.getBaseUrl();
+        baseUrl = resolveBaseUrl();
         authToken = ConfigReader.getAuthToken();
         testProjectId = ConfigReader.getTestProjectId();
 
         RestAssured.baseURI = baseUrl;
         RestAssured.basePath = ConfigReader.getApiBasePath();
+
+        requestSpec = getSharedRequestSpec();
+    }
+
+    /**
+     * The spec is built once and only ever read afterwards: given().spec(...)
+     * copies it into a fresh per-request specification, so all test classes
+     * and threads can share it along with the pooled HTTP client.
+     */
+    protected static RequestSpecification getSharedRequestSpec() {
+        RequestSpecification spec = sharedRequestSpec;
+        if (spec == null) {
+            synchronized (BaseTest.class) {
+                spec = sharedRequestSpec;
+                if (spec == null) {
+                    spec = new RequestSpecBuilder()
+                        .setBaseUri(resolveBaseUrl())
+                        .setBasePath(ConfigReader.getApiBasePath())
+                        .setConfig(RestAssuredConfig.config()
+                            .httpClient(HttpClientPool.httpClientConfig())
+                            .objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
+                                .defaultObjectMapper(JsonSupport.restAssuredMapper())))
+                        .setContentType(ContentType.JSON)
+                        .setAccept(ContentType.JSON)
+                        .addHeader("Authorization", "Bearer " + ConfigReader.getAuthToken())
+                        .addFilter(new ConditionalLoggingFilter())
+                        .addFilter(new DeadlineFilter())
+                        .addFilter(new ResponseCachingFilter())
+                        .addFilter(new ThrottlingFilter())
+                        .addFilter(new LatencyRecordingFilter())
+                        .addFilter(new CompressionFilter())
+                        .addFilter(new ResponseBufferingFilter())
+                        .addFilter(new IssueRegistrationFilter())
+                        .addFilter(new Http2TransportFilter())
+                        .build();
+                    sharedRequestSpec = spec;
+                }
+            }
+        }
+        return spec;
     }
 
-    @BeforeMethod(alwaysRun = true)
-    public void setupTest() {
-        requestSpec = new RequestSpecBuilder()
-            .setContentType(ContentType.JSON)
-            .setAccept(ContentType.JSON)
-            .addHeader("Authorization", "Bearer " + authToken)
-            .addFilter(new RequestLoggingFilter())
-            .addFilter(new ResponseLoggingFilter())
-            .build();
+    /**
+     * {@code base.url}, or the address of the in-process stub server when
+     * {@code stub.enabled=true} (the stub is started on first call).
+     */
+    protected static String resolveBaseUrl() {
+        if (ConfigReader.getBooleanProperty("stub.enabled", false)) {
+            return YouTrackStubServer.shared().getBaseUrl();
+        }
+        return ConfigReader.getBaseUrl();
+    }
+
+    /**
+     * Deletes every issue created through the shared spec during the suite
+     * (see {@link IssueRegistrationFilter}), unless {@code cleanup.enabled=false}.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void cleanupCreatedIssues() {
+        List<String> issueIds = CreatedIssueRegistry.drain();
+        if (issueIds.isEmpty() || !ConfigReader.getBooleanProperty("cleanup.enabled", true)) {
+            return;
+        }
+
+        System.out.println("\nDeleting " + issueIds.size() + " issues created during the run...");
+        IssueCleaner.CleanupResult result = IssueCleaner.fromConfig(getSharedRequestSpec())
+            .deleteAll(issueIds);
+        System.out.println("Issue cleanup: " + result.describe());
     }
 
     protected void logTestInfo(String testName, String description) {
@@ -9,8 +9,7 @@ import io.restassured.response.Response;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Iterator;
 import static io.restassured.RestAssured.given;
 import static org.testng.Assert.*;
 
@@ -29,8 +28,7 @@ public class DataDrivenTests extends BaseTest {
                    "Create issue from CSV data - Test ID: " + testId);
 
         try {
-            Project project = new Project(projectId);
-            Issue issue = new Issue(summary, description, project);
+            Issue issue = buildCsvIssue(projectId, summary, description);
 
             int expectedCode = Integer.parseInt(expectedStatus);
 
@@ -60,8 +58,8 @@ public class DataDrivenTests extends BaseTest {
     }
 
     @DataProvider(name = "csvIssueData", parallel = true)
-    public Object[][] getCsvData() {
-        return CSVDataProvider.readCSV("src/test/resources/test_data.csv");
+    public Iterator<Object[]> getCsvData() {
+        return CSVDataProvider.streamCSV("src/test/resources/test_data.csv");
     }
 
     @Test(dataProvider = "excelIssueData",
@@ -74,20 +72,7 @@ public class DataDrivenTests extends BaseTest {
                    "Create issue from Excel data - Test ID: " + testId);
 
         try {
-            Project project = new Project(projectId);
-            Issue issue = new Issue(summary, description, project);
-
-            if (priority != null && !priority.isEmpty()) {
-                Map<String, String> priorityValue = new HashMap<>();
-                priorityValue.put("name", priority);
-
-                CustomField priorityField = new CustomField(
-                    "Priority",
-                    "SingleEnumIssueCustomField",
-                    priorityValue
-                );
-                issue.setCustomFields(Arrays.asList(priorityField));
-            }
+            Issue issue = buildExcelIssue(projectId, summary, description, priority);
 
             Response response = given()
                 .spec(requestSpec)
@@ -114,8 +99,8 @@ public class DataDrivenTests extends BaseTest {
     }
 
     @DataProvider(name = "excelIssueData", parallel = true)
-    public Object[][] getExcelData() {
-        return ExcelDataProvider.readExcel("src/test/resources/test_data.xlsx", 
+    public Iterator<Object[]> getExcelData() {
+        return ExcelDataProvider.streamExcel("src/test/resources/test_data.xlsx", 
                                           "IssueData");
     }
 
@@ -134,14 +119,7 @@ public class DataDrivenTests extends BaseTest {
                 project
             );
 
-            Map<String, String> priorityValue = new HashMap<>();
-            priorityValue.put("name", priorityName);
-
-            CustomField priorityField = new CustomField(
-                "Priority",
-                "SingleEnumIssueCustomField",
-                priorityValue
-            );
+            CustomField priorityField = CustomField.singleEnum("Priority", priorityName);
 
             issue.setCustomFields(Arrays.asList(priorityField));
 
@@ -167,6 +145,29 @@ public class DataDrivenTests extends BaseTest {
         }
     }
 
+    /**
+     * Issue for a CSV data row, shared with the load tests.
+     */
+    static Issue buildCsvIssue(String projectId, String summary, String description) {
+        Project project = new Project(projectId);
+        return new Issue(summary, description, project);
+    }
+
+    /**
+     * Issue with optional Priority for an Excel data row, shared with the load tests.
+     */
+    static Issue buildExcelIssue(String projectId, String summary, String description,
+                                 String priority) {
+        Project project = new Project(projectId);
+        Issue issue = new Issue(summary, description, project);
+
+        if (priority != null && !priority.isEmpty()) {
+            CustomField priorityField = CustomField.singleEnum("Priority", priority);
+            issue.setCustomFields(Arrays.asList(priorityField));
+        }
+        return issue;
+    }
+
     @DataProvider(name = "priorityData", parallel = true)
     public Object[][] getPriorityData() {
         return new Object[][] {
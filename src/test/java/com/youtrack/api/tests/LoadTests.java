@@ -0,0 +1,85 @@
+package com.youtrack.api.tests;
+
+import com.youtrack.api.pojo.Issue;
+import com.youtrack.api.utils.CSVDataProvider;
+import com.youtrack.api.utils.ConfigReader;
+import com.youtrack.api.utils.ExcelDataProvider;
+import com.youtrack.api.utils.LoadGenerator;
+import com.youtrack.api.utils.LoadGenerator.LoadResult;
+import org.testng.annotations.Test;
+import static io.restassured.RestAssured.given;
+import static org.testng.Assert.*;
+
+/**
+ * Нагрузочные сценарии на основе данных DataDrivenTests.
+ * Строки CSV/Excel отправляются как POST /issues с постоянной частотой
+ * (load.rate.per.second) в течение load.duration.seconds.
+ * Запуск: mvn test -Pload
+ */
+public class LoadTests extends BaseTest {
+
+    private static final String CSV_FILE = "src/test/resources/test_data.csv";
+    private static final String EXCEL_FILE = "src/test/resources/test_data.xlsx";
+
+    @Test(priority = 1, description = "LOAD_001: Постоянная нагрузка созданием issues из CSV")
+    public void testCreateIssuesLoadFromCSV() {
+        logTestInfo("LOAD_001", "Replay CSV issue rows at a constant arrival rate");
+
+        LoadResult result = LoadGenerator.fromConfig("csv-create-issues").run(
+            () -> CSVDataProvider.streamCSV(CSV_FILE),
+            row -> {
+                Issue issue = DataDrivenTests.buildCsvIssue(
+                    (String) row[1], (String) row[2], (String) row[3]);
+                int expectedCode = Integer.parseInt((String) row[4]);
+
+                return given()
+                    .spec(requestSpec)
+                    .queryParam("fields", "id")
+                    .body(issue)
+                .when()
+                    .post("/issues")
+                .then()
+                    .extract()
+                    .statusCode() == expectedCode;
+            });
+
+        verify(result);
+    }
+
+    @Test(priority = 2, description = "LOAD_002: Постоянная нагрузка созданием issues из Excel")
+    public void testCreateIssuesLoadFromExcel() {
+        logTestInfo("LOAD_002", "Replay Excel issue rows at a constant arrival rate");
+
+        LoadResult result = LoadGenerator.fromConfig("excel-create-issues").run(
+            () -> ExcelDataProvider.streamExcel(EXCEL_FILE, "IssueData"),
+            row -> {
+                Issue issue = DataDrivenTests.buildExcelIssue(
+                    (String) row[1], (String) row[2], (String) row[3], (String) row[4]);
+
+                return given()
+                    .spec(requestSpec)
+                    .queryParam("fields", "id")
+                    .body(issue)
+                .when()
+                    .post("/issues")
+                .then()
+                    .extract()
+                    .statusCode() == 200;
+            });
+
+        verify(result);
+    }
+
+    private void verify(LoadResult result) {
+        System.out.println("\n" + result.describe());
+
+        double allowed = ConfigReader.getDoubleProperty("load.max.error.rate", 0.01);
+
+        assertTrue(result.getRequests() > 0, "Load run should send requests");
+        assertTrue(result.getErrorRate() <= allowed,
+            String.format("Error rate %.2f%% exceeds %.2f%%",
+                result.getErrorRate() * 100, allowed * 100));
+
+        logTestResult(true, result.describe());
+    }
+}
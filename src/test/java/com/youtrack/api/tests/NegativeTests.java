@@ -1,6 +1,7 @@
 package com.youtrack.api.tests;
 
 import com.youtrack.api.pojo.CustomField;
+import com.youtrack.api.pojo.EnumValue;
 import com.youtrack.api.pojo.Issue;
 import com.youtrack.api.pojo.Project;
 import io.restassured.builder.RequestSpecBuilder;
@@ -9,8 +10,6 @@ import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.testng.annotations.Test;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 import static io.restassured.RestAssured.given;
 import static org.testng.Assert.*;
 
@@ -193,13 +192,10 @@ public class NegativeTests extends BaseTest {
                 project
             );
 
-            Map<String, String> value = new HashMap<>();
-            value.put("name", "Major");
-
             CustomField invalidField = new CustomField(
                 "Priority",
                 "InvalidFieldType",
-                value
+                new EnumValue("Major")
             );
 
             issue.setCustomFields(Arrays.asList(invalidField));
@@ -231,6 +227,7 @@ public class NegativeTests extends BaseTest {
 
         Issue created = given()
             .spec(requestSpec)
+            .queryParam("fields", "id")
             .body(issue)
         .when()
             .post("/issues")
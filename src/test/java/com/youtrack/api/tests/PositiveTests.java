@@ -1,14 +1,23 @@
 package com.youtrack.api.tests;
 
 import com.youtrack.api.pojo.CustomField;
+import com.youtrack.api.pojo.EnumValue;
 import com.youtrack.api.pojo.Issue;
 import com.youtrack.api.pojo.Project;
+import com.youtrack.api.utils.AsyncYouTrackClient;
+import com.youtrack.api.utils.ConfigReader;
+import com.youtrack.api.utils.FieldsProjection;
+import com.youtrack.api.utils.PagingIterator;
+import com.youtrack.api.utils.StreamingJson;
 import io.restassured.response.Response;
 import org.testng.annotations.Ignore;
 import org.testng.annotations.Test;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import static io.restassured.RestAssured.given;
 import static org.testng.Assert.*;
 
@@ -34,6 +43,7 @@ public class PositiveTests extends BaseTest {
 
             Issue createdIssue = given()
                 .spec(requestSpec)
+                .queryParam("fields", FieldsProjection.of(Issue.class, "id", "summary"))
                 .body(issue)
             .when()
                 .post("/issues")
@@ -61,25 +71,21 @@ public class PositiveTests extends BaseTest {
         logTestInfo("TC_POS_002", "Get list of all available projects");
 
         try {
-            Project[] projects = given()
-                .spec(requestSpec)
-                .queryParam("fields", "id,name,shortName,$type")
-            .when()
-                .get("/admin/projects")
-            .then()
-                .statusCode(200)
-                .extract()
-                .as(Project[].class);
-
-            assertTrue(projects.length > 0, "Projects list should not be empty");
-
-            System.out.println("\nFound " + projects.length + " projects:");
-            for (Project project : projects) {
-                assertNotNull(project.getId(), "Project ID should not be null");
-                System.out.println("  - " + project.getId() + ": " + project.getName());
-            }
-
-            logTestResult(true, "Successfully retrieved " + projects.length + " projects");
+            System.out.println("\nProjects:");
+            long projectCount = StreamingJson.forEach(
+                given()
+                    .spec(requestSpec)
+                    .queryParam("fields", FieldsProjection.of(Project.class)),
+                "/admin/projects",
+                Project.class,
+                project -> {
+                    assertNotNull(project.getId(), "Project ID should not be null");
+                    System.out.println("  - " + project.getId() + ": " + project.getName());
+                });
+
+            assertTrue(projectCount > 0, "Projects list should not be empty");
+
+            logTestResult(true, "Successfully retrieved " + projectCount + " projects");
 
         } catch (Exception e) {
             logTestResult(false, "Test failed: " + e.getMessage());
@@ -95,7 +101,7 @@ public class PositiveTests extends BaseTest {
         try {
             Issue retrievedIssue = given()
                 .spec(requestSpec)
-                .queryParam("fields", "id,summary,description,project(id,name)")
+                .queryParam("fields", FieldsProjection.of(Issue.class, "id", "summary", "description", "project"))
             .when()
                 .get("/issues/" + createdIssueId)
             .then()
@@ -192,31 +198,32 @@ public class PositiveTests extends BaseTest {
                 project
             );
 
-            Map<String, String> priorityValue = new HashMap<>();
-            priorityValue.put("name", "Major");
-
-            CustomField priorityField = new CustomField(
-                "Priority",
-                "SingleEnumIssueCustomField",
-                priorityValue
-            );
+            CustomField priorityField = CustomField.singleEnum("Priority", "Major");
 
             issue.setCustomFields(Arrays.asList(priorityField));
 
-            Response response = given()
+            Issue created = given()
                 .spec(requestSpec)
-                .queryParam("fields", "id,summary")
+                .queryParam("fields", "id,summary,customFields(name,$type,value(name,$type))")
                 .body(issue)
             .when()
                 .post("/issues")
             .then()
                 .statusCode(200)
                 .extract()
-                .response();
+                .as(Issue.class);
 
-            String issueId = response.jsonPath().getString("id");
+            String issueId = created.getId();
             assertNotNull(issueId, "Issue ID should not be null");
 
+            CustomField priority = created.getCustomFields().stream()
+                .filter(field -> "Priority".equals(field.getName()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Priority field not returned"));
+            assertTrue(priority.getValue() instanceof EnumValue,
+                "Priority value should be read as EnumValue: " + priority.getValue());
+            assertEquals(((EnumValue) priority.getValue()).getName(), "Major");
+
             System.out.println("\nCreated issue with custom fields: " + issueId);
 
             logTestResult(true, "Issue with custom fields created successfully");
@@ -226,4 +233,139 @@ public class PositiveTests extends BaseTest {
             throw e;
         }
     }
+
+    @Test(priority = 7, description = "TC_POS_007: Постраничный обход списка issues")
+    public void testPageThroughIssues() {
+        logTestInfo("TC_POS_007", "Page through this run's issues with query, $skip and $top");
+
+        try {
+            // Other tests create and delete issues meanwhile: page only through our own,
+            // tagged with a word unique to this run
+            String tag = "paging" + System.currentTimeMillis();
+            Set<String> createdIds = new HashSet<>();
+            for (int i = 0; i < 7; i++) {
+                Issue issue = new Issue("Paging Issue " + i + " " + tag,
+                    "Created by the paging test", new Project(testProjectId));
+                createdIds.add(given()
+                    .spec(requestSpec)
+                    .queryParam("fields", "id")
+                    .body(issue)
+                .when()
+                    .post("/issues")
+                .then()
+                    .statusCode(200)
+                    .extract()
+                    .path("id"));
+            }
+
+            String query = "project: {" + ConfigReader.getProperty("test.project.name") + "} summary: " + tag;
+            Set<String> seenIds = new HashSet<>();
+            long pages;
+            try (PagingIterator<Issue> issues = new PagingIterator<>(
+                    () -> given().spec(requestSpec)
+                        .queryParam("fields", "id,summary")
+                        .queryParam("query", query),
+                    "/issues", Issue.class, 3)) {
+                while (issues.hasNext()) {
+                    Issue issue = issues.next();
+                    assertNotNull(issue.getId(), "Issue ID should not be null");
+                    assertTrue(seenIds.add(issue.getId()), "Issue listed twice: " + issue.getId());
+                }
+                pages = issues.getPagesFetched();
+            }
+
+            assertEquals(seenIds, createdIds, "Paging should return exactly the issues created by this test");
+            assertTrue(pages >= 3, "Expected at least 3 pages of 3 issues, fetched " + pages);
+            System.out.println("\nListed " + seenIds.size() + " issues in " + pages + " pages");
+
+            logTestResult(true, "All pages of issues retrieved successfully");
+
+        } catch (Exception e) {
+            logTestResult(false, "Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    @Test(priority = 8, description = "TC_POS_008: Параллельное создание и проверка issues асинхронным клиентом")
+    public void testCreateAndVerifyIssuesAsync() {
+        logTestInfo("TC_POS_008", "Create issues concurrently and verify each with the async client");
+
+        try {
+            int count = ConfigReader.getIntProperty("async.fanout.issues", 50);
+            AsyncYouTrackClient client = new AsyncYouTrackClient(requestSpec);
+            String fields = FieldsProjection.of(Issue.class, "id", "summary");
+            String runId = String.valueOf(System.currentTimeMillis());
+            long start = System.nanoTime();
+
+            List<CompletableFuture<Issue>> verified = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Issue issue = new Issue("Async Issue " + i + " - " + runId,
+                    "Created by the async fan-out test", new Project(testProjectId));
+                verified.add(client.createIssue(issue, "id")
+                    .thenCompose(created -> client.getIssue(created.getId(), fields)));
+            }
+            CompletableFuture.allOf(verified.toArray(new CompletableFuture<?>[0])).join();
+
+            Set<String> ids = new HashSet<>();
+            for (int i = 0; i < count; i++) {
+                Issue fetched = verified.get(i).join();
+                assertEquals(fetched.getSummary(), "Async Issue " + i + " - " + runId);
+                assertTrue(ids.add(fetched.getId()), "Issue ID returned twice: " + fetched.getId());
+            }
+            System.out.printf("%nCreated and verified %d issues in %d ms%n",
+                count, (System.nanoTime() - start) / 1_000_000);
+
+            logTestResult(true, count + " issues created and verified concurrently");
+
+        } catch (Exception e) {
+            logTestResult(false, "Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    @Test(priority = 9, description = "TC_POS_009: Создание и чтение issue с большим описанием")
+    public void testCreateIssueWithLargeDescription() {
+        logTestInfo("TC_POS_009", "Round-trip an issue with a large description");
+
+        try {
+            StringBuilder description = new StringBuilder();
+            for (int i = 1; description.length() < 16 * 1024; i++) {
+                description.append("Step ").append(i)
+                    .append(": open the issue list, apply the saved search and check the result.\n");
+            }
+            Issue issue = new Issue("Large Description Issue - " + System.currentTimeMillis(),
+                description.toString(), new Project(testProjectId));
+
+            String issueId = given()
+                .spec(requestSpec)
+                .queryParam("fields", "id")
+                .body(issue)
+            .when()
+                .post("/issues")
+            .then()
+                .statusCode(200)
+                .extract()
+                .path("id");
+
+            Issue fetched = given()
+                .spec(requestSpec)
+                .queryParam("fields", FieldsProjection.of(Issue.class, "id", "summary", "description"))
+            .when()
+                .get("/issues/" + issueId)
+            .then()
+                .statusCode(200)
+                .extract()
+                .as(Issue.class);
+
+            assertEquals(fetched.getSummary(), issue.getSummary());
+            assertEquals(fetched.getDescription(), issue.getDescription(),
+                "Description changed on the way to the server and back");
+
+            logTestResult(true, "Issue with " + description.length() + " characters of description round-tripped");
+
+        } catch (Exception e) {
+            logTestResult(false, "Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
 }
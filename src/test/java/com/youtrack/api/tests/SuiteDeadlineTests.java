@@ -0,0 +1,62 @@
+package com.youtrack.api.tests;
+
+import com.youtrack.api.pojo.Issue;
+import com.youtrack.api.pojo.Project;
+import com.youtrack.api.utils.IssueCleaner;
+import com.youtrack.api.utils.RequestDeadlines;
+import org.testng.annotations.Test;
+import java.util.List;
+import static io.restassured.RestAssured.given;
+import static org.testng.Assert.*;
+
+/**
+ * Поведение после истечения общего таймаута набора (timeout.suite.minutes).
+ * Тест завершает дедлайн набора, поэтому в testng.xml он запускается
+ * последним: все следующие за ним тесты были бы пропущены.
+ */
+public class SuiteDeadlineTests extends BaseTest {
+
+    @Test(description = "TC_DL_001: Очистка созданных issues после истечения дедлайна набора")
+    public void testCleanupAfterSuiteDeadline() {
+        logTestInfo("TC_DL_001", "Delete created issues after the suite deadline has run out");
+
+        try {
+            Issue issue = new Issue(
+                "Suite deadline cleanup - " + System.currentTimeMillis(),
+                "Created before the suite deadline, deleted after it",
+                new Project(testProjectId)
+            );
+            String issueId = given()
+                .spec(requestSpec)
+                .queryParam("fields", "id")
+                .body(issue)
+            .when()
+                .post("/issues")
+            .then()
+                .statusCode(200)
+                .extract()
+                .path("id");
+
+            RequestDeadlines.expireSuite();
+
+            IllegalStateException refused = expectThrows(IllegalStateException.class,
+                () -> given().spec(requestSpec).get("/issues/" + issueId));
+            assertTrue(refused.getMessage().contains("timeout.suite.minutes"), refused.getMessage());
+
+            IssueCleaner.CleanupResult result = IssueCleaner.fromConfig(requestSpec)
+                .deleteAll(List.of(issueId));
+            assertEquals(result.getDeleted(), 1, result.describe());
+            assertEquals(result.getFailed(), 0, result.describe());
+
+            int status = RequestDeadlines.outsideSuiteDeadline(
+                () -> given().spec(requestSpec).get("/issues/" + issueId).statusCode());
+            assertEquals(status, 404, "Issue should be deleted");
+
+            logTestResult(true, "Issue " + issueId + " deleted after the suite deadline");
+
+        } catch (Exception e) {
+            logTestResult(false, "Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+}
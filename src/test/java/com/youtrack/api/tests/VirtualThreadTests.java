@@ -0,0 +1,92 @@
+package com.youtrack.api.tests;
+
+import com.youtrack.api.pojo.Issue;
+import com.youtrack.api.utils.CSVDataProvider;
+import com.youtrack.api.utils.ConfigReader;
+import com.youtrack.api.utils.ExcelDataProvider;
+import com.youtrack.api.utils.VirtualThreadRunner;
+import com.youtrack.api.utils.VirtualThreadRunner.RunSummary;
+import io.restassured.response.Response;
+import org.testng.annotations.Test;
+import static io.restassured.RestAssured.given;
+import static org.testng.Assert.*;
+
+/**
+ * Data-Driven сценарии DataDrivenTests, где каждая строка данных выполняется
+ * на отдельном виртуальном потоке (ограничение: virtual.max.in.flight).
+ * Запуск: mvn test -Pvirtual-threads
+ */
+public class VirtualThreadTests extends BaseTest {
+
+    @Test(priority = 1, description = "VT_001: Создание issues из CSV на виртуальных потоках")
+    public void testCreateIssuesFromCSVOnVirtualThreads() {
+        logTestInfo("VT_001", "Create issues from CSV rows, one virtual thread per row");
+
+        RunSummary summary = newRunner().run(
+            CSVDataProvider.streamCSV("src/test/resources/test_data.csv"),
+            row -> {
+                Issue issue = DataDrivenTests.buildCsvIssue(
+                    (String) row[1], (String) row[2], (String) row[3]);
+                int expectedCode = Integer.parseInt((String) row[4]);
+
+                Response response = given()
+                    .spec(requestSpec)
+                    .queryParam("fields", "id")
+                    .body(issue)
+                .when()
+                    .post("/issues")
+                .then()
+                    .statusCode(expectedCode)
+                    .extract()
+                    .response();
+
+                if (expectedCode == 200) {
+                    assertNotNull(response.jsonPath().getString("id"), "Issue ID should not be null");
+                }
+            });
+
+        verify(summary);
+    }
+
+    @Test(priority = 2, description = "VT_002: Создание issues из Excel на виртуальных потоках")
+    public void testCreateIssuesFromExcelOnVirtualThreads() {
+        logTestInfo("VT_002", "Create issues from Excel rows, one virtual thread per row");
+
+        RunSummary summary = newRunner().run(
+            ExcelDataProvider.streamExcel("src/test/resources/test_data.xlsx", "IssueData"),
+            row -> {
+                Issue issue = DataDrivenTests.buildExcelIssue(
+                    (String) row[1], (String) row[2], (String) row[3], (String) row[4]);
+
+                String issueId = given()
+                    .spec(requestSpec)
+                    .queryParam("fields", "id,summary")
+                    .body(issue)
+                .when()
+                    .post("/issues")
+                .then()
+                    .statusCode(200)
+                    .extract()
+                    .jsonPath()
+                    .getString("id");
+
+                assertNotNull(issueId, "Issue ID should not be null");
+            });
+
+        verify(summary);
+    }
+
+    private VirtualThreadRunner newRunner() {
+        return new VirtualThreadRunner(ConfigReader.getIntProperty("virtual.max.in.flight", 1000));
+    }
+
+    private void verify(RunSummary summary) {
+        System.out.println("\nVirtual thread run: " + summary.describe());
+        summary.getFailures().forEach(failure -> System.out.println("  - " + failure));
+
+        assertTrue(summary.getRows() > 0, "Data source should not be empty");
+        assertEquals(summary.getFailed(), 0, "Failed rows: " + summary.getFailures());
+
+        logTestResult(true, summary.describe());
+    }
+}
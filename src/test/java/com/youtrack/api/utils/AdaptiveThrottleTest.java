@@ -0,0 +1,107 @@
+package com.youtrack.api.utils;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import java.util.concurrent.TimeUnit;
+import static org.testng.Assert.*;
+
+/**
+ * Модульные тесты AdaptiveThrottle: границы AIMD-лимита и решения о повторах.
+ * Дроссель общий для всего процесса, поэтому тесты идут по очереди, сужают
+ * диапазон лимита до [2, 4] и в конце возвращают конфигурацию набора.
+ */
+@Test(singleThreaded = true)
+public class AdaptiveThrottleTest {
+
+    private static final int MIN = 2;
+    private static final int MAX = 4;
+
+    private final long cooldownMillis = ConfigReader.getIntProperty("throttle.decrease.cooldown.ms", 1000);
+    private final long baseDelayMillis = ConfigReader.getIntProperty("throttle.retry.base.delay.ms", 200);
+
+    @BeforeClass
+    public void narrowRange() {
+        System.setProperty("throttle.min.concurrency", String.valueOf(MIN));
+        System.setProperty("throttle.max.concurrency", String.valueOf(MAX));
+        try {
+            AdaptiveThrottle.configure(ConfigSnapshot.load());
+        } finally {
+            System.clearProperty("throttle.min.concurrency");
+            System.clearProperty("throttle.max.concurrency");
+        }
+        growTo(MAX);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreRange() {
+        AdaptiveThrottle.configure(ConfigReader.snapshot());
+        growTo(ConfigReader.getIntProperty("throttle.max.concurrency", 64));
+    }
+
+    @Test(priority = 1, description = "UT_THR_001: Аддитивный рост не выходит за throttle.max.concurrency")
+    public void testAdditiveIncreaseStopsAtMax() {
+        assertEquals(AdaptiveThrottle.getConcurrencyLimit(), MAX);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(AdaptiveThrottle.tryAcquirePermit());
+            AdaptiveThrottle.release(200);
+            assertTrue(AdaptiveThrottle.getConcurrencyLimit() <= MAX);
+        }
+        assertEquals(AdaptiveThrottle.getConcurrencyLimit(), MAX);
+    }
+
+    @Test(priority = 2, description = "UT_THR_002: Мультипликативное снижение с паузой и нижней границей")
+    public void testMultiplicativeDecreaseStopsAtMin() throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(cooldownMillis + 50);
+        AdaptiveThrottle.onResponse("GET", true, 503, null, 1);
+        assertEquals(AdaptiveThrottle.getConcurrencyLimit(), MAX / 2, "Limit should halve on 503");
+
+        growTo(MAX / 2 + 1);
+        AdaptiveThrottle.onResponse("GET", true, 429, null, 1);
+        assertTrue(AdaptiveThrottle.getConcurrencyLimit() > MAX / 2,
+            "A second overload within the cooldown must not halve again");
+
+        TimeUnit.MILLISECONDS.sleep(cooldownMillis + 50);
+        AdaptiveThrottle.onResponse("GET", true, 429, null, 1);
+        assertEquals(AdaptiveThrottle.getConcurrencyLimit(), MIN, "Limit must not drop below the minimum");
+    }
+
+    @Test(priority = 3, description = "UT_THR_003: Неуспешные ответы не увеличивают лимит, permit не выдается сверх лимита")
+    public void testPermitsAreCappedByLimit() {
+        int limit = AdaptiveThrottle.getConcurrencyLimit();
+        for (int i = 0; i < limit; i++) {
+            assertTrue(AdaptiveThrottle.tryAcquirePermit(), "Permit " + (i + 1) + " of " + limit);
+        }
+        assertFalse(AdaptiveThrottle.tryAcquirePermit(), "No permit above the limit");
+        for (int i = 0; i < limit; i++) {
+            AdaptiveThrottle.release(i == 0 ? 503 : 0);
+        }
+        assertEquals(AdaptiveThrottle.getConcurrencyLimit(), limit);
+    }
+
+    @Test(priority = 4, description = "UT_THR_004: Повторяются только идемпотентные запросы с 429/503, не больше retry.count раз")
+    public void testRetryDecisions() {
+        int maxRetries = ConfigReader.getIntProperty("retry.count", 3);
+
+        assertEquals(AdaptiveThrottle.onResponse("GET", true, 500, null, 1), -1);
+        assertEquals(AdaptiveThrottle.onResponse("POST", true, 503, null, 1), -1);
+        assertEquals(AdaptiveThrottle.onResponse("PUT", false, 503, null, 1), -1);
+        assertEquals(AdaptiveThrottle.onResponse("DELETE", true, 429, null, maxRetries + 1), -1);
+
+        assertEquals(AdaptiveThrottle.onResponse("DELETE", true, 429, "0", 1), 0);
+        for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            long backoff = baseDelayMillis << (attempt - 1);
+            long delay = AdaptiveThrottle.onResponse("GET", true, 503, null, attempt);
+            assertTrue(delay >= backoff / 2 && delay <= backoff,
+                "Attempt " + attempt + ": " + delay + " ms outside [" + backoff / 2 + ", " + backoff + "]");
+        }
+    }
+
+    // Each successful request raises the limit by 1/limit
+    private static void growTo(int target) {
+        for (int i = 0; i < 100_000 && AdaptiveThrottle.getConcurrencyLimit() < target; i++) {
+            assertTrue(AdaptiveThrottle.tryAcquirePermit());
+            AdaptiveThrottle.release(200);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.youtrack.api.utils;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.testng.Assert.*;
+
+/**
+ * Модульные тесты ConfigSnapshot: порядок слоев config.properties, профиль,
+ * config.file и системные свойства. Слой переменных окружения внутри JVM не
+ * задать, он здесь не проверяется.
+ */
+@Test(singleThreaded = true)
+public class ConfigSnapshotTest {
+
+    private final List<String> properties = new ArrayList<>();
+    private final List<Path> files = new ArrayList<>();
+
+    @AfterMethod(alwaysRun = true)
+    public void clearLayers() throws IOException {
+        properties.forEach(System::clearProperty);
+        properties.clear();
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+        files.clear();
+    }
+
+    @Test(description = "UT_CFG_001: Каждый следующий слой перекрывает предыдущие")
+    public void testLayerPrecedence() throws IOException {
+        setProperty("config.profile", "unit-layers");
+        setProperty("config.file", configFile("cache.ttl.seconds=20\ncache.max.body.bytes=4096\n"));
+        setProperty("cache.max.body.bytes", "8192");
+
+        ConfigSnapshot config = ConfigSnapshot.load();
+
+        assertEquals(config.getString("cache.paths"), "/users/me,/admin/projects");
+        assertEquals(config.getSource("cache.paths"), "config.properties");
+        assertEquals(config.getInt("cache.max.entries", 0), 100);
+        assertEquals(config.getSource("cache.max.entries"), "config-unit-layers.properties");
+        assertEquals(config.getInt("cache.ttl.seconds", 0), 20);
+        assertEquals(config.getSource("cache.ttl.seconds"), files.get(0).toString());
+        assertEquals(config.getInt("cache.max.body.bytes", 0), 8192);
+        assertEquals(config.getSource("cache.max.body.bytes"), "system property");
+    }
+
+    @Test(description = "UT_CFG_002: Системные свойства вне конфигурации не попадают в снимок")
+    public void testUnrelatedSystemPropertiesAreIgnored() {
+        setProperty("unit.unrelated.key", "x");
+        setProperty("config.unit.marker", "y");
+
+        ConfigSnapshot config = ConfigSnapshot.load();
+
+        assertNull(config.getString("unit.unrelated.key"));
+        assertNull(config.getString("java.version"));
+        assertEquals(config.getString("config.unit.marker"), "y");
+    }
+
+    @Test(description = "UT_CFG_003: Значение по умолчанию и ошибка разбора с указанием слоя")
+    public void testTypedValues() throws IOException {
+        ConfigSnapshot config = ConfigSnapshot.load();
+        assertEquals(config.getInt("unit.missing.key", 7), 7);
+        assertFalse(config.getBoolean("cache.enabled", true));
+
+        setProperty("config.file", configFile("cache.ttl.seconds=soon\n"));
+        ConfigSnapshot invalid = ConfigSnapshot.load();
+
+        IllegalArgumentException error = expectThrows(IllegalArgumentException.class,
+            () -> invalid.getInt("cache.ttl.seconds", 60));
+        assertTrue(error.getMessage().contains(files.get(0).toString()), error.getMessage());
+    }
+
+    @Test(description = "UT_CFG_004: Изменения между снимками")
+    public void testChangesSince() throws IOException {
+        ConfigSnapshot before = ConfigSnapshot.load();
+        setProperty("config.file", configFile("cache.max.entries=10\n"));
+        ConfigSnapshot after = ConfigSnapshot.load();
+
+        assertTrue(after.getVersion() > before.getVersion());
+        assertTrue(after.differs(before, "cache.max.entries"));
+        assertFalse(after.differs(before, "cache.paths"));
+        Map<String, String> changes = after.changesSince(before);
+        assertEquals(changes.get("cache.max.entries"), "10");
+        assertTrue(changes.containsKey("config.file"));
+        assertFalse(changes.containsKey("cache.paths"), changes.toString());
+    }
+
+    private void setProperty(String key, String value) {
+        properties.add(key);
+        System.setProperty(key, value);
+    }
+
+    private String configFile(String content) throws IOException {
+        Path file = Files.createTempFile("config-layer", ".properties");
+        Files.writeString(file, content);
+        files.add(file);
+        return file.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package com.youtrack.api.utils;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DeflaterOutputStream;
+import static org.testng.Assert.*;
+
+/**
+ * Модульные тесты HttpCompression: gzip/deflate и учет байтов по endpoint.
+ */
+public class HttpCompressionTest {
+
+    private static final byte[] BODY = "{\"summary\":\"Сжатие\",\"description\":\"".concat("x".repeat(4000))
+        .concat("\"}").getBytes(StandardCharsets.UTF_8);
+
+    @AfterClass(alwaysRun = true)
+    public void forgetEndpoints() {
+        for (String endpoint : new String[] {"UNIT /compression/retried", "UNIT /compression/outer",
+                "UNIT /compression/inner", "UNIT /compression/plain"}) {
+            HttpCompression.forget(endpoint);
+        }
+    }
+
+    @Test(description = "UT_GZ_001: gzip и обратное декодирование, регистр и пробелы в Content-Encoding")
+    public void testGzipRoundTrip() {
+        byte[] compressed = HttpCompression.gzip(BODY);
+
+        assertTrue(compressed.length < BODY.length / 10, "Repetitive JSON should compress well");
+        assertEquals(HttpCompression.decode("gzip", compressed), BODY);
+        assertEquals(HttpCompression.decode(" GZIP ", compressed), BODY);
+        assertEquals(HttpCompression.decode("x-gzip", compressed), BODY);
+    }
+
+    @Test(description = "UT_GZ_002: deflate декодируется")
+    public void testDeflate() throws IOException {
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(deflated)) {
+            out.write(BODY);
+        }
+
+        assertEquals(HttpCompression.decode("deflate", deflated.toByteArray()), BODY);
+    }
+
+    @Test(description = "UT_GZ_003: Без сжатия, с неизвестной кодировкой и пустое тело возвращаются как есть")
+    public void testPassThrough() {
+        assertSame(HttpCompression.decode(null, BODY), BODY);
+        assertSame(HttpCompression.decode("identity", BODY), BODY);
+        assertSame(HttpCompression.decode("br", BODY), BODY);
+        byte[] empty = new byte[0];
+        assertSame(HttpCompression.decode("gzip", empty), empty);
+    }
+
+    @Test(description = "UT_GZ_004: Поврежденное тело дает понятную ошибку")
+    public void testCorruptBody() {
+        byte[] truncated = Arrays.copyOf(HttpCompression.gzip(BODY), 20);
+
+        UncheckedIOException error = expectThrows(UncheckedIOException.class,
+            () -> HttpCompression.decode("gzip", truncated));
+        assertTrue(error.getMessage().contains("gzip"), error.getMessage());
+    }
+
+    @Test(description = "UT_GZ_005: Сжимаются только POST/PUT/PATCH от порога и только если включено")
+    public void testShouldCompressRequest() {
+        boolean enabled = HttpCompression.isRequestCompressionEnabled();
+        int threshold = ConfigReader.getIntProperty("http.compression.request.min.bytes", 1024);
+
+        assertEquals(HttpCompression.shouldCompressRequest("POST", threshold), enabled);
+        assertEquals(HttpCompression.shouldCompressRequest("PATCH", threshold + 1), enabled);
+        assertFalse(HttpCompression.shouldCompressRequest("POST", threshold - 1));
+        assertFalse(HttpCompression.shouldCompressRequest("GET", threshold * 10));
+        assertFalse(HttpCompression.shouldCompressRequest("DELETE", threshold * 10));
+    }
+
+    @Test(description = "UT_GZ_006: Повторно отправленное тело учитывается в несжатых байтах каждый раз")
+    public void testRetriedBodyIsCountedPerAttempt() {
+        HttpCompression.Exchange exchange = HttpCompression.begin("UNIT /compression/retried");
+        HttpCompression.countSent(1024);
+        HttpCompression.countSent(1024);
+        HttpCompression.countReceived(1024);
+        HttpCompression.end(exchange, 4096, 3072);
+
+        assertEquals(row("UNIT /compression/retried"), new String[] {"1", "2.0", "8.0", "1.0", "3.0", "72.7%"});
+    }
+
+    @Test(description = "UT_GZ_007: Вложенный обмен считается отдельно, несжатый запрос — по байтам в сети")
+    public void testNestedAndUncompressedExchanges() {
+        HttpCompression.Exchange outer = HttpCompression.begin("UNIT /compression/outer");
+        HttpCompression.Exchange inner = HttpCompression.begin("UNIT /compression/inner");
+        HttpCompression.countSent(2048);
+        HttpCompression.end(inner, -1, -1);
+        HttpCompression.countReceived(1024);
+        HttpCompression.end(outer, -1, -1);
+
+        assertEquals(row("UNIT /compression/inner"), new String[] {"1", "2.0", "2.0", "0.0", "0.0", "0.0%"});
+        assertEquals(row("UNIT /compression/outer"), new String[] {"1", "0.0", "0.0", "1.0", "1.0", "0.0%"});
+
+        HttpCompression.record("UNIT /compression/plain", 0, 0, 512, 2048);
+        assertEquals(row("UNIT /compression/plain")[5], "75.0%");
+    }
+
+    // Count, Sent KB, Raw KB, Recv KB, Decoded KB and Saved of the endpoint's line in describe()
+    private static String[] row(String endpoint) {
+        for (String line : HttpCompression.describe().split("\\R")) {
+            if (line.startsWith(endpoint + " ")) {
+                return line.substring(endpoint.length()).trim().split("\\s+");
+            }
+        }
+        throw new AssertionError("No line for " + endpoint + " in" + HttpCompression.describe());
+    }
+}
@@ -0,0 +1,97 @@
+package com.youtrack.api.utils;
+
+import org.testng.annotations.Test;
+import java.util.Arrays;
+import java.util.Random;
+import static org.testng.Assert.*;
+
+/**
+ * Модульные тесты LatencyHistogram: точность перцентилей и слияние.
+ */
+public class LatencyHistogramTest {
+
+    private static final double RELATIVE_ERROR = 1.0 / 64;
+
+    @Test(description = "UT_HIST_001: Значения меньше 128 хранятся точно")
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 0; value < 100; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(histogram.getCount(), 100);
+        assertEquals(histogram.getValueAtPercentile(50), 49);
+        assertEquals(histogram.getValueAtPercentile(99), 98);
+        assertEquals(histogram.getValueAtPercentile(100), 99);
+        assertEquals(histogram.getMean(), 49.5, 1e-9);
+    }
+
+    @Test(description = "UT_HIST_002: Перцентили случайной выборки с ошибкой не больше 1/64")
+    public void testPercentileAccuracy() {
+        Random random = new Random(42);
+        long[] values = new long[100_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            // Логнормальное распределение, как у времен ответа: от сотен мкс до секунд
+            values[i] = (long) Math.exp(9 + 1.5 * random.nextGaussian());
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = histogram.getValueAtPercentile(percentile);
+            assertTrue(reported >= exact, "p" + percentile + ": " + reported + " < " + exact);
+            assertTrue(reported <= exact + exact * RELATIVE_ERROR,
+                "p" + percentile + ": " + reported + " is more than 1/64 above " + exact);
+        }
+        assertEquals(histogram.getValueAtPercentile(100), values[values.length - 1]);
+        assertEquals(histogram.getMax(), values[values.length - 1]);
+    }
+
+    @Test(description = "UT_HIST_003: Граница корзины не меньше значения и не шире 1/64 от него")
+    public void testBucketBounds() {
+        for (long value = 0; value < 1L << 40; value = value * 3 / 2 + 1) {
+            long upper = LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(value));
+            assertTrue(upper >= value, value + " -> " + upper);
+            assertTrue(upper - value <= value * RELATIVE_ERROR, value + " -> " + upper);
+        }
+    }
+
+    @Test(description = "UT_HIST_004: Слияние и восстановление из счетчиков дают те же перцентили")
+    public void testMergeAndRoundTrip() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        LatencyHistogram all = new LatencyHistogram();
+        for (long value = 1; value <= 20_000; value++) {
+            (value % 2 == 0 ? first : second).record(value * 7);
+            all.record(value * 7);
+        }
+
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.add(first);
+        merged.add(second);
+        LatencyHistogram restored = LatencyHistogram.fromCounts(
+            merged.getCounts(), merged.getSum(), merged.getMax());
+
+        for (LatencyHistogram histogram : new LatencyHistogram[] {merged, restored}) {
+            assertEquals(histogram.getCount(), all.getCount());
+            assertEquals(histogram.getSum(), all.getSum());
+            assertEquals(histogram.getMax(), all.getMax());
+            for (double percentile : new double[] {50, 95, 99.9}) {
+                assertEquals(histogram.getValueAtPercentile(percentile), all.getValueAtPercentile(percentile));
+            }
+        }
+    }
+
+    @Test(description = "UT_HIST_005: Пустая гистограмма и отрицательные значения")
+    public void testEmptyAndNegative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(histogram.getValueAtPercentile(99), 0);
+        assertEquals(histogram.getMean(), 0.0);
+
+        histogram.record(-5);
+        assertEquals(histogram.getCount(), 1);
+        assertEquals(histogram.getMax(), 0);
+    }
+}
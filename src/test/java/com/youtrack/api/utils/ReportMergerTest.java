@@ -0,0 +1,163 @@
+package com.youtrack.api.utils;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import static org.testng.Assert.*;
+
+/**
+ * Модульные тесты ReportMerger: отчеты шардов, записанные JsonLinesReportSink,
+ * сливаются в один с пересчитанными итогами и общей таблицей задержек.
+ * ReportMerger сливает задержки через общий LatencyStats, поэтому тесты идут
+ * по очереди, а статистика набора сохраняется и восстанавливается.
+ */
+@Test(singleThreaded = true)
+public class ReportMergerTest {
+
+    private static final String ENDPOINT = "GET /issues/{id}";
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 15, 10, 0);
+
+    private final List<File> dirs = new ArrayList<>();
+    private Path suiteLatency;
+
+    @BeforeClass
+    public void saveSuiteLatency() throws IOException {
+        suiteLatency = Files.createTempFile("suite-latency", ".json");
+        LatencyStats.writeSnapshot(suiteLatency.toFile());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreSuiteLatency() throws IOException {
+        LatencyStats.reset();
+        LatencyStats.mergeSnapshot(suiteLatency.toFile());
+        Files.deleteIfExists(suiteLatency);
+        for (File dir : dirs) {
+            for (File file : Objects.requireNonNull(dir.listFiles())) {
+                Files.deleteIfExists(file.toPath());
+            }
+            Files.deleteIfExists(dir.toPath());
+        }
+    }
+
+    @Test(description = "UT_MERGE_001: Итоги пересчитываются по всем шардам, задержки складываются")
+    public void testMergeShards() throws IOException {
+        File dir = newDir();
+        writeReport(dir, "positive", 0, 3, START.plusMinutes(1), Map.of("Pool", "early"),
+            record("testCreate", "PASSED", 1000), record("testUpdate", "FAILED", 3000));
+        writeReport(dir, "negative", 0, 3, START.plusMinutes(2), Map.of("Pool", "late"),
+            record("testNotFound", "PASSED", 2000));
+        writeReport(dir, "positive", 1, 3, START.plusMinutes(1), Map.of(),
+            record("testGet", "SKIPPED", 1500), record("testList", "PASSED", 500));
+        // Шард без тестов в своей части набора все равно считается слитым
+        writeReport(dir, "negative", 2, 3, START.plusMinutes(1), Map.of());
+        writeLatency(dir, 0, 3, 100, 3, 0);
+        writeLatency(dir, 1, 3, 5000, 1, 1);
+
+        ReportMerger.MergeResult result = ReportMerger.merge(dir, new File(dir, "test-report-merged"));
+
+        assertEquals(result.getSummary().getPassed(), 3);
+        assertEquals(result.getSummary().getFailed(), 1);
+        assertEquals(result.getSummary().getSkipped(), 1);
+        assertTrue(result.getMissingShards().isEmpty());
+
+        Map<String, String> sections = result.getSummary().getSections();
+        assertEquals(sections.get("Shards"),
+            "3 of 3 merged, shard 0: 3 tests, shard 1: 2 tests, shard 2: 0 tests");
+        assertEquals(sections.get("Shard 0 Pool"), "late", "The shard's last summary should win");
+
+        LatencyHistogram latency = LatencyStats.get(ENDPOINT).getHistogram();
+        assertEquals(latency.getCount(), 4);
+        assertEquals(latency.getMax(), 5000);
+        assertEquals(latency.getValueAtPercentile(50), 100);
+        assertEquals(LatencyStats.get(ENDPOINT).getErrorCount(), 1);
+        assertTrue(sections.get("Endpoint Latency").contains(ENDPOINT));
+
+        List<String> merged = Files.readAllLines(new File(dir, "test-report-merged.jsonl").toPath());
+        assertEquals(merged.stream().filter(line -> line.contains("\"type\":\"test\"")).count(), 5);
+        assertTrue(merged.get(1).contains("testList"), "Tests should be ordered by start time");
+    }
+
+    @Test(description = "UT_MERGE_002: Отсутствующий шард попадает в результат")
+    public void testMissingShard() throws IOException {
+        File dir = newDir();
+        writeReport(dir, "positive", 0, 3, START, Map.of(), record("testCreate", "PASSED", 1000));
+        writeReport(dir, "positive", 2, 3, START, Map.of(), record("testGet", "PASSED", 2000));
+
+        ReportMerger.MergeResult result = ReportMerger.merge(dir, new File(dir, "test-report-merged"));
+
+        assertEquals(result.getMissingShards(), new TreeSet<>(List.of(1)));
+        assertTrue(result.describe().contains("missing shards [1]"), result.describe());
+        assertTrue(result.getSummary().getSections().get("Shards").endsWith("MISSING: [1]"));
+    }
+
+    @Test(description = "UT_MERGE_003: Отчеты прогонов с разным числом шардов не сливаются")
+    public void testDifferentShardCounts() throws IOException {
+        File dir = newDir();
+        writeReport(dir, "positive", 0, 2, START, Map.of(), record("testCreate", "PASSED", 1000));
+        writeReport(dir, "positive", 1, 3, START, Map.of(), record("testGet", "PASSED", 2000));
+
+        IllegalStateException error = expectThrows(IllegalStateException.class,
+            () -> ReportMerger.merge(dir, new File(dir, "test-report-merged")));
+        assertTrue(error.getMessage().contains("different shard counts"), error.getMessage());
+    }
+
+    @Test(description = "UT_MERGE_004: Каталог без отчетов шардов")
+    public void testNoShardReports() throws IOException {
+        File dir = newDir();
+        Files.writeString(new File(dir, "test-report-20260115_100000.jsonl").toPath(), "");
+
+        expectThrows(IllegalStateException.class,
+            () -> ReportMerger.merge(dir, new File(dir, "test-report-merged")));
+    }
+
+    private File newDir() throws IOException {
+        File dir = Files.createTempDirectory("report-merger").toFile();
+        dirs.add(dir);
+        return dir;
+    }
+
+    private static TestResultRecord record(String method, String status, long startOffsetMillis) {
+        long start = 1_768_471_200_000L + startOffsetMillis;
+        return new TestResultRecord("Suite", "com.youtrack.api.tests.PositiveTests", method, null,
+            status, start, start + 100, "FAILED".equals(status) ? "expected 200" : null, null);
+    }
+
+    private static void writeReport(File dir, String test, int shard, int shardCount, LocalDateTime end,
+                                    Map<String, String> sections, TestResultRecord... records)
+            throws IOException {
+        String name = "test-report-" + test + "-" + end.getMinute() + "-shard-" + shard + "-of-" + shardCount;
+        try (JsonLinesReportSink sink = new JsonLinesReportSink(new File(dir, name + ".jsonl").getPath())) {
+            sink.start("Suite", START);
+            long passed = 0;
+            long failed = 0;
+            for (TestResultRecord record : records) {
+                sink.record(record);
+                passed += "PASSED".equals(record.getStatus()) ? 1 : 0;
+                failed += "FAILED".equals(record.getStatus()) ? 1 : 0;
+            }
+            sink.finish(new ReportSummary(passed, failed, records.length - passed - failed, end, sections));
+        }
+    }
+
+    private static void writeLatency(File dir, int shard, int shardCount, long micros, long count, long errors)
+            throws IOException {
+        int bucket = LatencyHistogram.bucketIndex(micros);
+        String json = "{\"endpoints\":{\"" + ENDPOINT + "\":{\"errors\":" + errors
+            + ",\"firstStartMillis\":1768471200000,\"lastEndMillis\":1768471210000"
+            + ",\"sum\":" + micros * count + ",\"max\":" + micros
+            + ",\"buckets\":{\"" + bucket + "\":" + count + "}}}}";
+        Files.writeString(ReportMerger.latencySnapshotFile(dir, shard, shardCount).toPath(), json,
+            StandardCharsets.UTF_8);
+    }
+}
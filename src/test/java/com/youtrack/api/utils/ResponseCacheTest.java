@@ -0,0 +1,137 @@
+package com.youtrack.api.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import static io.restassured.RestAssured.given;
+import static org.testng.Assert.*;
+
+/**
+ * Модульные тесты ResponseCache вместе с ResponseCachingFilter: свежие записи,
+ * ревалидация по ETag и инвалидация. Запросы идут на локальный HTTP-сервер,
+ * который отвечает 304, если If-None-Match совпадает с текущим ETag.
+ */
+@Test(singleThreaded = true)
+public class ResponseCacheTest {
+
+    private HttpServer server;
+    private RequestSpecification spec;
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+    private volatile String body;
+    private volatile String etag;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/users/me", this::handle);
+        server.start();
+        spec = new RequestSpecBuilder()
+            .setBaseUri("http://127.0.0.1:" + server.getAddress().getPort())
+            .setBasePath("")
+            .addFilter(new ResponseCachingFilter(true))
+            .build();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        ResponseCache.invalidate("/users/me");
+        server.stop(0);
+    }
+
+    @BeforeMethod
+    public void resetServer() {
+        ResponseCache.invalidate("/users/me");
+        ifNoneMatch.clear();
+        body = "{\"login\":\"v1\"}";
+        etag = "\"1\"";
+    }
+
+    @Test(description = "UT_RC_001: Свежая запись отдается без запроса к серверу")
+    public void testFreshEntryIsServedFromCache() {
+        assertEquals(get("token").asString(), "{\"login\":\"v1\"}");
+        assertEquals(get("token").asString(), "{\"login\":\"v1\"}");
+
+        assertEquals(ifNoneMatch.size(), 1, "Second GET should not reach the server");
+    }
+
+    @Test(description = "UT_RC_002: Устаревшая запись ревалидируется по ETag, 304 отдает кэшированное тело")
+    public void testStaleEntryIsRevalidated() {
+        get("token");
+        ResponseCache.expireAll();
+
+        Response revalidated = get("token");
+
+        assertEquals(ifNoneMatch, List.of("", "\"1\""));
+        assertEquals(revalidated.statusCode(), 200);
+        assertEquals(revalidated.asString(), "{\"login\":\"v1\"}");
+
+        get("token");
+        assertEquals(ifNoneMatch.size(), 2, "A revalidated entry should be fresh again");
+    }
+
+    @Test(description = "UT_RC_003: Изменившийся ресурс приходит целиком и заменяет запись")
+    public void testChangedResourceReplacesEntry() {
+        get("token");
+        body = "{\"login\":\"v2\"}";
+        etag = "\"2\"";
+        ResponseCache.expireAll();
+
+        assertEquals(get("token").asString(), "{\"login\":\"v2\"}");
+        ResponseCache.expireAll();
+        get("token");
+
+        assertEquals(ifNoneMatch, List.of("", "\"1\"", "\"2\""));
+    }
+
+    @Test(description = "UT_RC_004: Изменяющий запрос инвалидирует запись, другой токен ее не видит")
+    public void testInvalidationAndTokenIsolation() {
+        get("token");
+        get("other-token");
+        assertEquals(ifNoneMatch, List.of("", ""), "Each token should get its own entry");
+
+        given().spec(spec).header("Authorization", "Bearer token").post("/users/me");
+        get("token");
+
+        assertEquals(ifNoneMatch.get(ifNoneMatch.size() - 1), "",
+            "After a POST the entry should be gone, not revalidated");
+    }
+
+    private Response get(String token) {
+        return given().spec(spec).header("Authorization", "Bearer " + token).get("/users/me");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+            return;
+        }
+        String condition = exchange.getRequestHeaders().getFirst("If-None-Match");
+        ifNoneMatch.add(condition == null ? "" : condition);
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(condition)) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.youtrack.api.utils;
+
+import org.testng.IMethodInstance;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import static org.testng.Assert.*;
+
+/**
+ * Модульные тесты ShardingInterceptor: при любом числе шардов каждый метод и
+ * каждая строка data provider выполняются ровно один раз, а связанные
+ * зависимостями методы попадают в один шард.
+ */
+public class ShardingInterceptorTest {
+
+    private static final int MAX_SHARDS = 6;
+
+    @Test(description = "UT_SHARD_001: Каждый метод выполняется ровно в одном шарде")
+    public void testEveryMethodRunsExactlyOnce() {
+        List<IMethodInstance> methods = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            methods.add(method("Tests.independent" + i));
+        }
+        methods.add(method("Tests.create"));
+        methods.add(method("Tests.update", "Tests.create"));
+        methods.add(method("Tests.delete", "Tests.update"));
+        methods.add(method("Tests.setupA").withGroups("setup"));
+        methods.add(method("Tests.setupB").withGroups("setup"));
+        methods.add(method("Tests.afterSetup").dependsOnGroups("setup"));
+        // Зависимость из другого <test> не связывает методы этого
+        methods.add(method("Tests.external", "Other.method"));
+
+        for (int shardCount = 1; shardCount <= MAX_SHARDS; shardCount++) {
+            Map<String, Integer> shardOf = new HashMap<>();
+            for (int shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+                for (IMethodInstance selected : ShardingInterceptor.methodsForShard(
+                        methods, "Positive API Tests", shardCount, shardIndex)) {
+                    Integer previous = shardOf.put(selected.getMethod().getQualifiedName(), shardIndex);
+                    assertNull(previous, selected.getMethod().getQualifiedName()
+                        + " selected by shards " + previous + " and " + shardIndex + " of " + shardCount);
+                }
+            }
+
+            assertEquals(shardOf.size(), methods.size(), "Methods covered with " + shardCount + " shards");
+            assertEquals(shardOf.get("Tests.update"), shardOf.get("Tests.create"));
+            assertEquals(shardOf.get("Tests.delete"), shardOf.get("Tests.create"));
+            assertEquals(shardOf.get("Tests.afterSetup"), shardOf.get("Tests.setupA"));
+            assertEquals(shardOf.get("Tests.afterSetup"), shardOf.get("Tests.setupB"));
+        }
+    }
+
+    @Test(description = "UT_SHARD_002: Нагрузка распределяется по всем шардам")
+    public void testLoadIsBalanced() {
+        List<IMethodInstance> methods = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            methods.add(method("Tests.independent" + i));
+        }
+
+        for (int shardIndex = 0; shardIndex < 4; shardIndex++) {
+            assertEquals(ShardingInterceptor.methodsForShard(methods, "Negative API Tests", 4, shardIndex).size(), 3,
+                "Shard " + shardIndex);
+        }
+    }
+
+    @Test(description = "UT_SHARD_003: Data-driven методы и их зависимости есть в каждом шарде")
+    public void testDataDrivenMethodsRunInEveryShard() {
+        List<IMethodInstance> methods = List.of(
+            method("Data.prepare"),
+            method("Data.fromCsv", "Data.prepare").dataDriven(),
+            method("Data.plain"));
+
+        int plainCount = 0;
+        for (int shardIndex = 0; shardIndex < 3; shardIndex++) {
+            List<String> selected = new ArrayList<>();
+            ShardingInterceptor.methodsForShard(methods, "Data-Driven Tests", 3, shardIndex)
+                .forEach(instance -> selected.add(instance.getMethod().getQualifiedName()));
+            assertTrue(selected.containsAll(List.of("Data.prepare", "Data.fromCsv")), selected.toString());
+            plainCount += selected.contains("Data.plain") ? 1 : 0;
+        }
+        assertEquals(plainCount, 1);
+    }
+
+    @Test(description = "UT_SHARD_004: Каждая строка data provider достается ровно одному шарду")
+    public void testEveryRowRunsExactlyOnce() {
+        int rowCount = 101;
+        for (int shardCount = 1; shardCount <= MAX_SHARDS; shardCount++) {
+            int[] seen = new int[rowCount];
+            for (int shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+                Iterator<Object[]> rows = ShardingInterceptor.rowsForShard(
+                    IntStream.range(0, rowCount).mapToObj(i -> new Object[] {i}).iterator(),
+                    shardCount, shardIndex);
+                while (rows.hasNext()) {
+                    seen[(Integer) rows.next()[0]]++;
+                }
+                assertFalse(rows.hasNext(), "hasNext() must stay false at the end");
+            }
+            for (int row = 0; row < rowCount; row++) {
+                assertEquals(seen[row], 1, "Row " + row + " with " + shardCount + " shards");
+            }
+        }
+    }
+
+    private static FakeMethod method(String qualifiedName, String... dependsOnMethods) {
+        return new FakeMethod(qualifiedName, dependsOnMethods);
+    }
+
+    /**
+     * Builds the IMethodInstance/ITestNGMethod pair the interceptor reads.
+     */
+    private static final class FakeMethod implements IMethodInstance {
+
+        private final String qualifiedName;
+        private final String[] dependsOnMethods;
+        private String[] groups = new String[0];
+        private String[] dependsOnGroups = new String[0];
+        private boolean dataDriven;
+
+        FakeMethod(String qualifiedName, String[] dependsOnMethods) {
+            this.qualifiedName = qualifiedName;
+            this.dependsOnMethods = dependsOnMethods;
+        }
+
+        FakeMethod withGroups(String... names) {
+            groups = names;
+            return this;
+        }
+
+        FakeMethod dependsOnGroups(String... names) {
+            dependsOnGroups = names;
+            return this;
+        }
+
+        FakeMethod dataDriven() {
+            dataDriven = true;
+            return this;
+        }
+
+        @Override
+        public ITestNGMethod getMethod() {
+            return (ITestNGMethod) Proxy.newProxyInstance(ITestNGMethod.class.getClassLoader(),
+                new Class<?>[] {ITestNGMethod.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getQualifiedName":
+                            return qualifiedName;
+                        case "getMethodsDependedUpon":
+                            return dependsOnMethods;
+                        case "getGroupsDependedUpon":
+                            return dependsOnGroups;
+                        case "getGroups":
+                            return groups;
+                        case "isDataDriven":
+                            return dataDriven;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        }
+
+        @Override
+        public Object getInstance() {
+            return this;
+        }
+    }
+}
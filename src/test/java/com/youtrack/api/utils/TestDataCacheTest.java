@@ -0,0 +1,149 @@
+package com.youtrack.api.utils;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import static org.testng.Assert.*;
+
+/**
+ * Модульные тесты TestDataCache: бинарный снимок и его инвалидация.
+ * Каждый тест работает со своим временным файлом данных, поэтому ключи кэша
+ * не пересекаются.
+ */
+public class TestDataCacheTest {
+
+    private static final Object[][] ROWS = {
+        {"Summary 1", "Описание с юникодом", Boolean.TRUE, new Date(1_700_000_000_000L)},
+        {"Summary 2", null, Boolean.FALSE, null},
+        {"", "x", null, new Date(0)}
+    };
+
+    private Path dir;
+
+    @BeforeClass
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("test-data-cache");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteDir() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Test(description = "UT_CACHE_001: Строки из снимка совпадают с разобранными, файл повторно не разбирается")
+    public void testSnapshotRoundTrip() throws IOException {
+        String file = dataFile("round-trip", "v1");
+        CountingParser parser = new CountingParser(ROWS);
+
+        List<Object[]> parsed = readAll(TestDataCache.stream(file, "test:v1", parser));
+        List<Object[]> fromSnapshot = readAll(TestDataCache.stream(file, "test:v1", parser));
+
+        assertEquals(parser.calls.get(), 1, "Second read should come from the snapshot");
+        assertRows(parsed, ROWS);
+        assertRows(fromSnapshot, ROWS);
+    }
+
+    @Test(description = "UT_CACHE_002: Изменение файла инвалидирует снимок")
+    public void testContentChangeInvalidatesSnapshot() throws IOException {
+        String file = dataFile("changed", "v1");
+        CountingParser parser = new CountingParser(ROWS);
+        readAll(TestDataCache.stream(file, "test:v1", parser));
+
+        Files.writeString(Path.of(file), "content v2, longer than before");
+        Object[][] changedRows = {{"Changed"}};
+        CountingParser changed = new CountingParser(changedRows);
+
+        assertRows(readAll(TestDataCache.stream(file, "test:v1", changed)), changedRows);
+        assertEquals(changed.calls.get(), 1, "Changed file should be parsed again");
+    }
+
+    @Test(description = "UT_CACHE_003: Другой вариант разбора не использует чужой снимок")
+    public void testVariantIsPartOfKey() throws IOException {
+        String file = dataFile("variant", "v1");
+        readAll(TestDataCache.stream(file, "test:v1", new CountingParser(ROWS)));
+
+        Object[][] otherRows = {{"Other parser"}};
+        CountingParser other = new CountingParser(otherRows);
+
+        assertRows(readAll(TestDataCache.stream(file, "test:v2", other)), otherRows);
+        assertEquals(other.calls.get(), 1);
+    }
+
+    @Test(description = "UT_CACHE_004: Закрытый до конца итератор не оставляет снимок")
+    public void testEarlyCloseDiscardsSnapshot() throws IOException {
+        String file = dataFile("early-close", "v1");
+        CountingParser parser = new CountingParser(ROWS);
+
+        Iterator<Object[]> partial = TestDataCache.stream(file, "test:v1", parser);
+        partial.next();
+        ((Closeable) partial).close();
+        readAll(TestDataCache.stream(file, "test:v1", parser));
+
+        assertEquals(parser.calls.get(), 2, "A partial snapshot must not be published");
+    }
+
+    @Test(description = "UT_CACHE_005: rows() разбирает файл один раз и отдает копию")
+    public void testRowsAreParsedOnceAndCopied() throws IOException {
+        String file = dataFile("rows", "v1");
+        CountingParser parser = new CountingParser(ROWS);
+
+        Object[][] first = TestDataCache.rows(file, "test:v1", parser);
+        first[0] = null;
+        Object[][] second = TestDataCache.rows(file, "test:v1", parser);
+
+        assertEquals(parser.calls.get(), 1);
+        assertRows(Arrays.asList(second), ROWS);
+    }
+
+    private String dataFile(String name, String content) throws IOException {
+        Path file = Files.createTempFile(dir, name, ".csv");
+        Files.writeString(file, content);
+        return file.toString();
+    }
+
+    private static List<Object[]> readAll(Iterator<Object[]> rows) {
+        List<Object[]> result = new ArrayList<>();
+        rows.forEachRemaining(result::add);
+        return result;
+    }
+
+    private static void assertRows(List<Object[]> actual, Object[][] expected) {
+        assertEquals(actual.size(), expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(actual.get(i), expected[i], "Row " + i);
+        }
+    }
+
+    private static final class CountingParser implements Supplier<Iterator<Object[]>> {
+
+        private final Object[][] rows;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingParser(Object[][] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public Iterator<Object[]> get() {
+            calls.incrementAndGet();
+            return Arrays.stream(rows).map(Object[]::clone).iterator();
+        }
+    }
+}
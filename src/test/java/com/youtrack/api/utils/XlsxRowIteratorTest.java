@@ -0,0 +1,113 @@
+package com.youtrack.api.utils;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.NoSuchElementException;
+import static org.testng.Assert.*;
+
+/**
+ * Модульные тесты XlsxRowIterator: потоковое чтение листа дает те же значения,
+ * что и DOM-разбор ExcelDataProvider.readExcel.
+ */
+public class XlsxRowIteratorTest {
+
+    private static final Date DATE = new Date(1_700_000_000_000L / 86_400_000L * 86_400_000L);
+
+    private Path workbook;
+
+    @BeforeClass
+    public void createWorkbook() throws IOException {
+        workbook = Files.createTempFile("xlsx-row-iterator", ".xlsx");
+        try (XSSFWorkbook book = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(workbook)) {
+            Sheet sheet = book.createSheet("Issues");
+            CellStyle dateStyle = book.createCellStyle();
+            dateStyle.setDataFormat(book.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("summary");
+            header.createCell(1).setCellValue("priority");
+
+            Row first = sheet.createRow(1);
+            first.createCell(0).setCellValue("Первая задача");
+            first.createCell(1).setCellValue(42);
+            first.createCell(2).setCellValue(true);
+            first.createCell(3).setCellValue(DATE);
+            first.getCell(3).setCellStyle(dateStyle);
+
+            Row second = sheet.createRow(2);
+            second.createCell(0).setCellValue("Gap");
+            second.createCell(2).setCellFormula("1+1");
+
+            // Строка 4 пропущена: у нее нет ячеек в XML
+            Row fourth = sheet.createRow(4);
+            fourth.createCell(0).setCellValue("After missing row");
+            fourth.createCell(1).setCellValue(7.9);
+
+            book.createSheet("Empty").createRow(0).createCell(0).setCellValue("header only");
+            book.write(out);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteWorkbook() throws IOException {
+        Files.deleteIfExists(workbook);
+    }
+
+    @Test(description = "UT_XLSX_001: Значения ячеек всех типов и пропуск заголовка")
+    public void testCellValues() throws IOException {
+        List<Object[]> rows = readAll(workbook.toString(), "Issues");
+
+        assertEquals(rows.size(), 3);
+        assertEquals(rows.get(0), new Object[] {"Первая задача", "42", true, DATE});
+        assertEquals(rows.get(1), new Object[] {"Gap", "", "1+1"});
+        assertEquals(rows.get(2), new Object[] {"After missing row", "7"});
+    }
+
+    @Test(description = "UT_XLSX_002: Потоковый и DOM-разбор test_data.xlsx совпадают")
+    public void testMatchesDomParser() throws IOException {
+        String file = "src/test/resources/test_data.xlsx";
+        Object[][] expected = ExcelDataProvider.readExcel(file, "IssueData");
+
+        List<Object[]> rows = readAll(file, "IssueData");
+
+        assertEquals(rows.size(), expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(rows.get(i), expected[i], "Row " + (i + 1));
+        }
+    }
+
+    @Test(description = "UT_XLSX_003: Лист только с заголовком и конец итерации")
+    public void testEmptySheetAndExhaustion() throws IOException {
+        try (XlsxRowIterator rows = new XlsxRowIterator(workbook.toString(), "Empty")) {
+            assertFalse(rows.hasNext());
+            assertThrows(NoSuchElementException.class, rows::next);
+        }
+    }
+
+    @Test(description = "UT_XLSX_004: Несуществующий лист")
+    public void testMissingSheet() {
+        RuntimeException error = expectThrows(RuntimeException.class,
+            () -> new XlsxRowIterator(workbook.toString(), "Missing"));
+        assertTrue(error.getMessage().contains("Sheet not found: Missing"), error.getMessage());
+    }
+
+    private static List<Object[]> readAll(String file, String sheet) throws IOException {
+        List<Object[]> rows = new ArrayList<>();
+        try (XlsxRowIterator iterator = new XlsxRowIterator(file, sheet)) {
+            iterator.forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+}